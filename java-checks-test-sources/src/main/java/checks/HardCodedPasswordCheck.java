@@ -69,6 +69,10 @@ class HardCodedPasswordCheck {
     String query14 = "password=anonymous\nuser=user"; // Compliant
     String query15 = "password=something&user=user%s"; // Noncompliant
     String query16 = "passwordProtected password=:notAPassword"; // Compliant, the password is starting with ":" and therefore excluded
+    // Without "=" a literal does not set a password
+    String query19 = "pwd"; // Compliant
+    String query20 = "password"; // Compliant
+    String query21 = "login:a password:xxx"; // Compliant
 
     // ========== 1.2 Urls ==========
     // No exclusion is made when the password if found in an url
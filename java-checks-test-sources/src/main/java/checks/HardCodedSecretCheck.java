@@ -54,6 +54,9 @@ class HardCodedSecretCheck {
     String query1_1 = "secret=???"; // Compliant
     String query1_2 = "secret=X"; // Compliant
     String query1_3 = "secret=anonymous"; // Compliant
+    // Without "=" a literal does not set a secret
+    String query1_4 = "secret"; // Compliant
+    String query1_5 = "login:a token:abcdefghijklmnopqrs"; // Compliant
     String query4 = "secret='" + secret + "'"; // Compliant
     String query2 = "secret=:password"; // Compliant
     String query3 = "secret=:param"; // Compliant
@@ -33,6 +33,12 @@ class HardcodedIpCheck {
 
   String empty = "";
 
+  // without '.' nor ':' a literal cannot contain an IP address
+  String noSeparator1 = "10";
+  String noSeparator2 = "100001";
+  String noSeparator3 = "ffff";
+  String noSeparator4 = "a134ABEF12312312734fFAB230004123";
+
   // IPV6 uncompressed format has 8 parts
   String ipV6_1 = "1:a:0:0:0:0:0:0:0";
   String ipV6_2 = "1:a:0:0:0:0:0:0"; // Noncompliant
@@ -145,7 +145,8 @@ public abstract class AbstractHardCodedCredentialChecker extends IssuableSubscri
 
   protected void handleStringLiteral(LiteralTree tree) {
     String cleanedLiteral = LiteralUtils.trimQuotes(tree.value());
-    if (!isPartOfConstantCredentialDeclaration(tree)) {
+    // every literal pattern requires a '=' after the credential word: most literals are discarded without running them
+    if (cleanedLiteral.indexOf('=') >= 0 && !isPartOfConstantCredentialDeclaration(tree)) {
       literalPatterns().map(pattern -> pattern.matcher(cleanedLiteral))
         // contains "pwd=" or similar
         .filter(Matcher::find)
@@ -19,19 +19,19 @@
  */
 package org.sonar.java.checks;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import org.sonar.check.Rule;
 import org.sonarsource.analyzer.commons.collections.MapBuilder;
-import org.sonar.plugins.java.api.JavaFileScanner;
-import org.sonar.plugins.java.api.JavaFileScannerContext;
-import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.tree.IdentifierTree;
 import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
+import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.Tree.Kind;
 
-import java.util.Map;
-
 @Rule(key = "S1596")
-public class CollectionsEmptyConstantsCheck extends BaseTreeVisitor implements JavaFileScanner {
+public class CollectionsEmptyConstantsCheck extends IssuableSubscriptionVisitor {
 
   private static final Map<String, String> IDENTIFIER_REPLACEMENT = MapBuilder.<String, String>newMap()
     .put("EMPTY_LIST", "emptyList()")
@@ -39,22 +39,19 @@ public class CollectionsEmptyConstantsCheck extends BaseTreeVisitor implements J
     .put("EMPTY_SET", "emptySet()")
     .build();
 
-  private JavaFileScannerContext context;
-
   @Override
-  public void scanFile(JavaFileScannerContext context) {
-    this.context = context;
-    scan(context.getTree());
+  public List<Kind> nodesToVisit() {
+    return Collections.singletonList(Kind.MEMBER_SELECT);
   }
 
   @Override
-  public void visitMemberSelectExpression(MemberSelectExpressionTree tree) {
-    super.visitMemberSelectExpression(tree);
+  public void visitNode(Tree node) {
+    MemberSelectExpressionTree tree = (MemberSelectExpressionTree) node;
     String identifier = tree.identifier().name();
     boolean isCollectionsCall = tree.expression().is(Kind.IDENTIFIER) && "Collections".equals(((IdentifierTree) tree.expression()).name());
     boolean callEmptyConstant = identifier.startsWith("EMPTY_");
     if (isCollectionsCall && callEmptyConstant) {
-      context.reportIssue(this, tree, "Replace \"Collections." + identifier + "\" by \"Collections." + IDENTIFIER_REPLACEMENT.get(identifier) + "\".");
+      reportIssue(tree, "Replace \"Collections." + identifier + "\" by \"Collections." + IDENTIFIER_REPLACEMENT.get(identifier) + "\".");
     }
   }
 
@@ -19,6 +19,7 @@
  */
 package org.sonar.java.checks;
 
+import java.util.List;
 import org.apache.commons.lang3.StringUtils;
 import org.sonar.java.model.LineUtils;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
@@ -49,9 +50,10 @@ public class CommentContainsPatternChecker {
   public void checkTrivia(SyntaxTrivia syntaxTrivia) {
     String comment = syntaxTrivia.comment();
     if (StringUtils.containsIgnoreCase(comment, pattern)) {
-      String[] lines = comment.split("\r\n?|\n");
-      for (int i = 0; i < lines.length; i++) {
-        if (StringUtils.containsIgnoreCase(lines[i], pattern) && !isLetterAround(lines[i], pattern)) {
+      List<String> lines = LineUtils.commentLines(syntaxTrivia);
+      for (int i = 0; i < lines.size(); i++) {
+        String line = lines.get(i);
+        if (StringUtils.containsIgnoreCase(line, pattern) && !isLetterAround(line, pattern)) {
           newCheck.addIssue(LineUtils.startLine(syntaxTrivia) + i, message);
         }
       }
@@ -77,10 +77,10 @@ public class CommentedOutCodeLineCheck extends IssuableSubscriptionVisitor {
   }
 
   public AnalyzerMessage collectIssues(List<AnalyzerMessage> issues, SyntaxTrivia syntaxTrivia, @Nullable AnalyzerMessage previousRelatedIssue) {
-    String[] lines = syntaxTrivia.comment().split("\r\n?|\n");
+    List<String> lines = LineUtils.commentLines(syntaxTrivia);
     AnalyzerMessage issue = previousRelatedIssue;
-    for (int lineOffset = 0; lineOffset < lines.length; lineOffset++) {
-      String line = lines[lineOffset];
+    for (int lineOffset = 0; lineOffset < lines.size(); lineOffset++) {
+      String line = lines.get(lineOffset);
       if (!isJavadocLink(line) && codeRecognizer.isLineOfCode(line)) {
         int startLine = LineUtils.startLine(syntaxTrivia) + lineOffset;
         int startColumnOffset = (lineOffset == 0 ? Position.startOf(syntaxTrivia).columnOffset() : 0);
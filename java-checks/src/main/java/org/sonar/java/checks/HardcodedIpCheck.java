@@ -78,12 +78,22 @@ public class HardcodedIpCheck extends BaseTreeVisitor implements JavaFileScanner
   public void visitLiteral(LiteralTree tree) {
     if (tree.is(Tree.Kind.STRING_LITERAL)) {
       String value = LiteralUtils.trimQuotes(tree.value());
+      if (cannotContainIp(value)) {
+        return;
+      }
       extractIPV4(value).map(Optional::of).orElseGet(() -> extractIPV6(value))
         .filter(ip -> !isLoopbackAddress(ip) && !isNonRoutableAddress(ip) && !isBroadcastAddress(ip) && !isDocumentationRange(ip))
         .ifPresent(ip -> context.reportIssue(this, tree, MESSAGE));
     }
   }
 
+  /**
+   * Every IPv4 pattern requires a '.' and every IPv6 pattern requires a ':', this avoids running all the patterns on most literals.
+   */
+  private static boolean cannotContainIp(String value) {
+    return value.indexOf('.') < 0 && value.indexOf(':') < 0;
+  }
+
   private static boolean isDocumentationRange(String ip) {
     return ip.startsWith("192.0.2.") || ip.startsWith("198.51.100.") || ip.startsWith("203.0.113.") || ip.startsWith("2001:db8:");
   }
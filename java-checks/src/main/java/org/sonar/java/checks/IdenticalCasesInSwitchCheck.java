@@ -86,6 +86,7 @@ public class IdenticalCasesInSwitchCheck extends IssuableSubscriptionVisitor {
     int index = 0;
     List<CaseGroupTree> cases = node.cases();
     Set<CaseGroupTree> duplicates = new HashSet<>();
+    int[] hashes = cases.stream().mapToInt(caseGroupTree -> SyntacticEquivalence.syntacticHash(caseGroupTree.body())).toArray();
     for (CaseGroupTree caseGroupTree : cases) {
       index++;
       if (duplicates.contains(caseGroupTree)) {
@@ -93,7 +94,7 @@ public class IdenticalCasesInSwitchCheck extends IssuableSubscriptionVisitor {
       }
       for (int i = index; i < cases.size(); i++) {
         CaseGroupTree caseI = cases.get(i);
-        if (SyntacticEquivalence.areEquivalent(caseGroupTree.body(), caseI.body())) {
+        if (hashes[index - 1] == hashes[i] && SyntacticEquivalence.areEquivalent(caseGroupTree.body(), caseI.body())) {
           duplicates.add(caseI);
           identicalBranches.computeIfAbsent(caseGroupTree, k -> new HashSet<>()).add(caseI);
         }
@@ -127,6 +128,7 @@ public class IdenticalCasesInSwitchCheck extends IssuableSubscriptionVisitor {
   private static IfElseChain collectIdenticalBranches(List<StatementTree> allBranches) {
     IfElseChain ifElseChain = new IfElseChain();
     Set<StatementTree> duplicates = new HashSet<>();
+    int[] hashes = allBranches.stream().mapToInt(SyntacticEquivalence::syntacticHash).toArray();
     for (int i = 0; i < allBranches.size(); i++) {
       if (duplicates.contains(allBranches.get(i))) {
         continue;
@@ -134,7 +136,7 @@ public class IdenticalCasesInSwitchCheck extends IssuableSubscriptionVisitor {
       for (int j = i + 1; j < allBranches.size(); j++) {
         StatementTree statement1 = allBranches.get(i);
         StatementTree statement2 = allBranches.get(j);
-        if (SyntacticEquivalence.areEquivalent(statement1, statement2)) {
+        if (hashes[i] == hashes[j] && SyntacticEquivalence.areEquivalent(statement1, statement2)) {
           duplicates.add(statement2);
           ifElseChain.branches.computeIfAbsent(statement1, k -> new HashSet<>()).add(statement2);
         }
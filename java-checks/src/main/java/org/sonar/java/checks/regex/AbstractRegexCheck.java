@@ -152,19 +152,28 @@ public abstract class AbstractRegexCheck extends IssuableSubscriptionVisitor imp
   }
 
   protected void onMethodInvocationFound(MethodInvocationTree mit) {
+    regexContext.regexForSite(mit, site -> parseRegex(mit))
+      .ifPresent(result -> checkRegex(result, mit));
+  }
+
+  private Optional<RegexParseResult> parseRegex(MethodInvocationTree mit) {
     ExpressionTree regexExpression = getRegexLiteralExpression(mit);
-    if (regexExpression != null) {
-      FlagSet flags = getFlags(mit);
-      if (!flags.contains(Pattern.LITERAL)) {
-        getLiterals(regexExpression)
-          .map(literals -> regexForLiterals(flags, literals))
-          .ifPresent(result -> checkRegex(result, mit));
-      }
+    if (regexExpression == null) {
+      return Optional.empty();
+    }
+    FlagSet flags = getFlags(mit);
+    if (flags.contains(Pattern.LITERAL)) {
+      return Optional.empty();
     }
+    return getLiterals(regexExpression).map(literals -> regexForLiterals(flags, literals));
   }
 
+  /**
+   * Final, like the extraction of the flags: the regex parsed for a method invocation or annotation is shared by all the
+   * regex checks, so it must not depend on the check.
+   */
   @Nullable
-  protected ExpressionTree getRegexLiteralExpression(ExpressionTree methodInvocationOrAnnotation) {
+  protected final ExpressionTree getRegexLiteralExpression(ExpressionTree methodInvocationOrAnnotation) {
     if (methodInvocationOrAnnotation.is(Tree.Kind.METHOD_INVOCATION)) {
       MethodInvocationTree mit = (MethodInvocationTree) methodInvocationOrAnnotation;
       int regexIndex = REGEX_ON_THE_SECOND_ARGUMENT_METHODS.matches(mit) ? 1 : 0;
@@ -182,12 +191,16 @@ public abstract class AbstractRegexCheck extends IssuableSubscriptionVisitor imp
   }
 
   protected void onAnnotationFound(AnnotationTree annotation) {
+    regexContext.regexForSite(annotation, site -> parseRegex(annotation))
+      .ifPresent(result -> checkRegex(result, annotation));
+  }
+
+  private Optional<RegexParseResult> parseRegex(AnnotationTree annotation) {
     ExpressionTree regexExpression = getRegexLiteralExpression(annotation);
-    if (regexExpression != null) {
-      getLiterals(regexExpression)
-        .map(literals -> regexForLiterals(getFlags(annotation), literals))
-        .ifPresent(result -> checkRegex(result, annotation));
+    if (regexExpression == null) {
+      return Optional.empty();
     }
+    return getLiterals(regexExpression).map(literals -> regexForLiterals(getFlags(annotation), literals));
   }
 
   private static class AnnotationFlagsVisitor extends BaseTreeVisitor {
@@ -19,6 +19,9 @@
  */
 package org.sonar.java.checks.regex;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -28,8 +31,12 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
 import org.sonar.check.Rule;
+import org.sonar.plugins.java.api.caching.CacheContext;
 import org.sonar.plugins.java.api.tree.ExpressionTree;
 import org.sonarsource.analyzer.commons.regex.MatchType;
 import org.sonarsource.analyzer.commons.regex.RegexParseResult;
@@ -55,6 +62,8 @@ import static org.sonarsource.analyzer.commons.regex.helpers.RegexTreeHelper.isA
 @Rule(key = "S5852")
 public class RedosCheck extends AbstractRegexCheckTrackingMatchType {
 
+  private static final Logger LOGGER = Loggers.get(RedosCheck.class);
+
   private static final String MESSAGE = "Make sure the regex used here, which is vulnerable to %s runtime due to backtracking," +
     " cannot lead to denial of service%s.";
   private static final String JAVA8_MESSAGE = " or make sure the code is only run using Java 9 or later";
@@ -74,9 +83,26 @@ public class RedosCheck extends AbstractRegexCheckTrackingMatchType {
    */
   private static final int MAX_REGEX_LENGTH = 1000;
 
+  private static final String CACHE_KEY_PREFIX = "java:S5852:";
+  /**
+   * Part of the hashed cache keys, to be incremented whenever a change of the analysis makes previously cached results
+   * obsolete.
+   */
+  private static final int ANALYSIS_VERSION = 1;
+
   private boolean regexContainsBackReference;
   private BacktrackingType foundBacktrackingType;
 
+  /**
+   * Results of the backtracking analysis, by cache key. The analysis only depends on the regex text, its flags and the
+   * way it is matched, so identical regexes are analyzed only once per analysis, or not at all when the result can be
+   * read from the cache of the previous analysis. Results are dropped as soon as the check runs in another analysis, which
+   * comes with its own cache context.
+   */
+  private final Map<String, AnalysisResult> analysisResults = new HashMap<>();
+  @Nullable
+  private CacheContext analysisResultsContext = null;
+
   private final RegexReachabilityChecker reachabilityChecker = new RegexReachabilityChecker(false);
   private final IntersectAutomataChecker intersectionChecker = new IntersectAutomataChecker(false);
 
@@ -127,6 +153,45 @@ public class RedosCheck extends AbstractRegexCheckTrackingMatchType {
     if (regexForLiterals.getResult().getText().length() > MAX_REGEX_LENGTH) {
       return;
     }
+    CacheContext cacheContext = context.getCacheContext();
+    if (cacheContext != analysisResultsContext) {
+      analysisResults.clear();
+      analysisResultsContext = cacheContext;
+    }
+    AnalysisResult result = analysisResults.computeIfAbsent(computeCacheKey(regexForLiterals, matchType),
+      key -> loadOrAnalyze(key, regexForLiterals, matchType));
+    regexContainsBackReference = result.containsBackReference;
+    foundBacktrackingType = result.backtrackingType;
+    message().ifPresent(message ->
+      reportIssue(methodOrAnnotationName(methodInvocationOrAnnotation), message, null, Collections.emptyList())
+    );
+  }
+
+  private AnalysisResult loadOrAnalyze(String cacheKey, RegexParseResult regexForLiterals, MatchType matchType) {
+    CacheContext cacheContext = context.getCacheContext();
+    if (cacheContext.isCacheEnabled()) {
+      AnalysisResult cachedResult = AnalysisResult.fromBytes(cacheContext.getReadCache().readBytes(cacheKey));
+      if (cachedResult != null) {
+        try {
+          cacheContext.getWriteCache().copyFromPrevious(cacheKey);
+        } catch (IllegalArgumentException e) {
+          LOGGER.trace(() -> String.format("Failed to copy regex analysis from previous cache for key %s", cacheKey));
+        }
+        return cachedResult;
+      }
+    }
+    AnalysisResult result = analyze(regexForLiterals, matchType);
+    if (cacheContext.isCacheEnabled()) {
+      try {
+        cacheContext.getWriteCache().write(cacheKey, result.toBytes());
+      } catch (IllegalArgumentException e) {
+        LOGGER.trace(() -> String.format("Failed to write regex analysis to cache for key %s", cacheKey));
+      }
+    }
+    return result;
+  }
+
+  private AnalysisResult analyze(RegexParseResult regexForLiterals, MatchType matchType) {
     regexContainsBackReference = false;
     foundBacktrackingType = BacktrackingType.NO_ISSUE;
     reachabilityChecker.clearCache();
@@ -135,9 +200,46 @@ public class RedosCheck extends AbstractRegexCheckTrackingMatchType {
     boolean isUsedForPartialMatch = matchType == MatchType.PARTIAL || matchType == MatchType.BOTH;
     RedosFinder visitor = new RedosFinder(regexForLiterals.getStartState(), regexForLiterals.getFinalState(), isUsedForFullMatch, isUsedForPartialMatch);
     visitor.visit(regexForLiterals);
-    message().ifPresent(message ->
-      reportIssue(methodOrAnnotationName(methodInvocationOrAnnotation), message, null, Collections.emptyList())
-    );
+    return new AnalysisResult(foundBacktrackingType, regexContainsBackReference);
+  }
+
+  static String computeCacheKey(RegexParseResult regexForLiterals, MatchType matchType) {
+    String content = ANALYSIS_VERSION + ":" + matchType.name() + ":" + regexForLiterals.getInitialFlags().getMask()
+      + ":" + regexForLiterals.getResult().getText();
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+      StringBuilder key = new StringBuilder(CACHE_KEY_PREFIX);
+      for (byte b : digest) {
+        key.append(String.format("%02x", b));
+      }
+      return key.toString();
+    } catch (NoSuchAlgorithmException e) {
+      // SHA-256 is available on every Java platform
+      throw new IllegalStateException(e);
+    }
+  }
+
+  static class AnalysisResult {
+    final BacktrackingType backtrackingType;
+    final boolean containsBackReference;
+
+    AnalysisResult(BacktrackingType backtrackingType, boolean containsBackReference) {
+      this.backtrackingType = backtrackingType;
+      this.containsBackReference = containsBackReference;
+    }
+
+    @CheckForNull
+    static AnalysisResult fromBytes(@Nullable byte[] raw) {
+      BacktrackingType[] types = BacktrackingType.values();
+      if (raw == null || raw.length != 2 || raw[0] < 0 || raw[0] >= types.length) {
+        return null;
+      }
+      return new AnalysisResult(types[raw[0]], raw[1] != 0);
+    }
+
+    byte[] toBytes() {
+      return new byte[] {(byte) backtrackingType.ordinal(), (byte) (containsBackReference ? 1 : 0)};
+    }
   }
 
   private void addBacktracking(BacktrackingType newBacktrackingType) {
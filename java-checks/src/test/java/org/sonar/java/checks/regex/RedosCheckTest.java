@@ -21,7 +21,10 @@ package org.sonar.java.checks.regex;
 
 import org.junit.jupiter.api.Test;
 import org.sonar.java.checks.verifier.CheckVerifier;
+import org.sonar.java.checks.verifier.internal.InternalReadCache;
+import org.sonar.java.checks.verifier.internal.InternalWriteCache;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.sonar.java.checks.verifier.TestUtils.testSourcesPath;
 
 class RedosCheckTest {
@@ -52,4 +55,63 @@ class RedosCheckTest {
       .verifyIssues();
   }
 
+  @Test
+  void test_analysis_results_are_cached() {
+    InternalReadCache readCache = new InternalReadCache();
+    InternalWriteCache writeCache = new InternalWriteCache().bind(readCache);
+    CheckVerifier.newVerifier()
+      .onFile(testSourcesPath("checks/regex/RedosCheck.java"))
+      .withCheck(new RedosCheck())
+      .withCache(readCache, writeCache)
+      .verifyIssues();
+
+    assertThat(writeCache.getData())
+      .isNotEmpty()
+      .allSatisfy((key, value) -> assertThat(key).startsWith("java:S5852:"));
+
+    InternalReadCache nextReadCache = new InternalReadCache().putAll(writeCache);
+    InternalWriteCache nextWriteCache = new InternalWriteCache().bind(nextReadCache);
+    CheckVerifier.newVerifier()
+      .onFile(testSourcesPath("checks/regex/RedosCheck.java"))
+      .withCheck(new RedosCheck())
+      .withCache(nextReadCache, nextWriteCache)
+      .verifyIssues();
+
+    assertThat(nextWriteCache.getData()).containsOnlyKeys(writeCache.getData().keySet());
+  }
+
+  @Test
+  void test_analysis_results_are_not_kept_from_one_analysis_to_the_next() {
+    RedosCheck check = new RedosCheck();
+    InternalReadCache readCache = new InternalReadCache();
+    InternalWriteCache writeCache = new InternalWriteCache().bind(readCache);
+    CheckVerifier.newVerifier()
+      .onFile(testSourcesPath("checks/regex/RedosCheck.java"))
+      .withCheck(check)
+      .withCache(readCache, writeCache)
+      .verifyIssues();
+
+    // same check instance, as in a long running process: the results are read from the cache of the new analysis again
+    InternalReadCache nextReadCache = new InternalReadCache().putAll(writeCache);
+    InternalWriteCache nextWriteCache = new InternalWriteCache().bind(nextReadCache);
+    CheckVerifier.newVerifier()
+      .onFile(testSourcesPath("checks/regex/RedosCheck.java"))
+      .withCheck(check)
+      .withCache(nextReadCache, nextWriteCache)
+      .verifyIssues();
+
+    assertThat(nextWriteCache.getData()).containsOnlyKeys(writeCache.getData().keySet());
+  }
+
+  @Test
+  void test_unreadable_cached_results_are_ignored() {
+    assertThat(RedosCheck.AnalysisResult.fromBytes(null)).isNull();
+    assertThat(RedosCheck.AnalysisResult.fromBytes(new byte[] {0})).isNull();
+    assertThat(RedosCheck.AnalysisResult.fromBytes(new byte[] {42, 0})).isNull();
+    RedosCheck.AnalysisResult result = RedosCheck.AnalysisResult.fromBytes(
+      new RedosCheck.AnalysisResult(RedosCheck.BacktrackingType.ALWAYS_QUADRATIC, true).toBytes());
+    assertThat(result.backtrackingType).isEqualTo(RedosCheck.BacktrackingType.ALWAYS_QUADRATIC);
+    assertThat(result.containsBackReference).isTrue();
+  }
+
 }
@@ -23,10 +23,10 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
@@ -48,7 +48,7 @@ public class DefaultJavaResourceLocator implements JavaResourceLocator {
   public DefaultJavaResourceLocator(ClasspathForMain javaClasspath, ClasspathForTest javaTestClasspath) {
     this.javaClasspath = javaClasspath;
     this.javaTestClasspath = javaTestClasspath;
-    resourcesByClass = new HashMap<>();
+    resourcesByClass = new ConcurrentHashMap<>();
   }
 
   @Override
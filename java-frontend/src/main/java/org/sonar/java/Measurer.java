@@ -22,33 +22,57 @@ package org.sonar.java;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Deque;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 import org.sonar.api.SonarProduct;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.issue.NoSonarFilter;
 import org.sonar.api.measures.CoreMetrics;
 import org.sonar.api.measures.Metric;
+import org.sonar.java.ast.api.JavaKeyword;
 import org.sonar.java.ast.visitors.CognitiveComplexityVisitor;
 import org.sonar.java.ast.visitors.CommentLinesVisitor;
-import org.sonar.java.ast.visitors.LinesOfCodeVisitor;
-import org.sonar.java.ast.visitors.StatementVisitor;
 import org.sonar.java.ast.visitors.SubscriptionVisitor;
+import org.sonar.java.model.InternalSyntaxToken;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.location.Position;
+import org.sonar.plugins.java.api.tree.BlockTree;
+import org.sonar.plugins.java.api.tree.CaseLabelTree;
 import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.ForStatementTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.NewClassTree;
+import org.sonar.plugins.java.api.tree.StatementTree;
+import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.TryStatementTree;
+import org.sonar.plugins.java.api.tree.VariableTree;
 
+/**
+ * Computes all the file metrics in a single traversal of the compilation unit: classes, functions, statements, lines of code,
+ * comment lines, NOSONAR lines, complexity and cognitive complexity. Only the cognitive complexity of methods and initializers
+ * requires to visit their body once more, as its nesting increments depend on the visiting order of the tree.
+ */
 public class Measurer extends SubscriptionVisitor {
 
+  private static final String DEFAULT_KEYWORD = JavaKeyword.DEFAULT.getValue();
+
   private final SensorContext sensorContext;
   private final NoSonarFilter noSonarFilter;
   private InputFile sonarFile;
   private int methods;
   private final Deque<ClassTree> classTrees = new LinkedList<>();
   private int classes;
+  private int complexity;
+  private int cognitiveComplexity;
+  private int statements;
+  private final Set<Tree> variableTypes = new HashSet<>();
+  private final Set<Integer> linesOfCode = new HashSet<>();
+  private CommentLinesVisitor commentLinesVisitor;
 
   public Measurer(SensorContext context, NoSonarFilter noSonarFilter) {
     this.sensorContext = context;
@@ -67,44 +91,60 @@ public class Measurer extends SubscriptionVisitor {
   public List<Tree.Kind> nodesToVisit() {
     return Arrays.asList(Tree.Kind.CLASS, Tree.Kind.INTERFACE, Tree.Kind.ENUM, Tree.Kind.ANNOTATION_TYPE, Tree.Kind.RECORD,
         Tree.Kind.NEW_CLASS, Tree.Kind.ENUM_CONSTANT,
-        Tree.Kind.METHOD, Tree.Kind.CONSTRUCTOR);
+        Tree.Kind.METHOD, Tree.Kind.CONSTRUCTOR,
+        // complexity
+        Tree.Kind.LAMBDA_EXPRESSION, Tree.Kind.CASE_LABEL, Tree.Kind.CONDITIONAL_EXPRESSION, Tree.Kind.CONDITIONAL_AND, Tree.Kind.CONDITIONAL_OR,
+        // statements
+        Tree.Kind.EMPTY_STATEMENT, Tree.Kind.IF_STATEMENT, Tree.Kind.ASSERT_STATEMENT, Tree.Kind.SWITCH_STATEMENT, Tree.Kind.WHILE_STATEMENT,
+        Tree.Kind.DO_STATEMENT, Tree.Kind.FOR_STATEMENT, Tree.Kind.FOR_EACH_STATEMENT, Tree.Kind.BREAK_STATEMENT, Tree.Kind.CONTINUE_STATEMENT,
+        Tree.Kind.RETURN_STATEMENT, Tree.Kind.THROW_STATEMENT, Tree.Kind.SYNCHRONIZED_STATEMENT, Tree.Kind.TRY_STATEMENT,
+        Tree.Kind.EXPRESSION_STATEMENT, Tree.Kind.VARIABLE,
+        // cognitive complexity
+        Tree.Kind.INITIALIZER, Tree.Kind.STATIC_INITIALIZER,
+        // lines of code and comments
+        Tree.Kind.TOKEN);
   }
 
 
   @Override
   public void scanFile(JavaFileScannerContext context) {
     sonarFile = context.getInputFile();
-    CommentLinesVisitor commentLinesVisitor = createCommentLineVisitorAndFindNoSonar(context);
     if(isSonarLintContext()) {
       // No need to compute metrics on SonarLint side, but the no sonar filter is still required
+      createCommentLineVisitorAndFindNoSonar(context);
       return;
     }
     classTrees.clear();
     methods = 0;
     classes = 0;
+    complexity = 0;
+    cognitiveComplexity = 0;
+    statements = 0;
+    variableTypes.clear();
+    linesOfCode.clear();
+    commentLinesVisitor = new CommentLinesVisitor();
     super.setContext(context);
     scanTree(context.getTree());
     //leave file.
-    int fileComplexity = context.getComplexityNodes(context.getTree()).size();
+    noSonarFilter.noSonarInFile(sonarFile, commentLinesVisitor.noSonarLines());
     saveMetricOnFile(CoreMetrics.CLASSES, classes);
     saveMetricOnFile(CoreMetrics.FUNCTIONS, methods);
-    saveMetricOnFile(CoreMetrics.COMPLEXITY, fileComplexity);
+    saveMetricOnFile(CoreMetrics.COMPLEXITY, complexity);
     saveMetricOnFile(CoreMetrics.COMMENT_LINES, commentLinesVisitor.commentLinesMetric());
-    saveMetricOnFile(CoreMetrics.STATEMENTS, new StatementVisitor().numberOfStatements(context.getTree()));
-    saveMetricOnFile(CoreMetrics.NCLOC, new LinesOfCodeVisitor().linesOfCode(context.getTree()));
+    saveMetricOnFile(CoreMetrics.STATEMENTS, statements + variableTypes.size());
+    saveMetricOnFile(CoreMetrics.NCLOC, linesOfCode.size());
 
-    saveMetricOnFile(CoreMetrics.COGNITIVE_COMPLEXITY, CognitiveComplexityVisitor.compilationUnitComplexity(context.getTree()));
+    saveMetricOnFile(CoreMetrics.COGNITIVE_COMPLEXITY, cognitiveComplexity);
   }
 
   private boolean isSonarLintContext() {
     return sensorContext.runtime().getProduct() == SonarProduct.SONARLINT;
   }
 
-  private CommentLinesVisitor createCommentLineVisitorAndFindNoSonar(JavaFileScannerContext context) {
-    CommentLinesVisitor commentLinesVisitor = new CommentLinesVisitor();
-    commentLinesVisitor.analyzeCommentLines(context.getTree());
-    noSonarFilter.noSonarInFile(sonarFile, commentLinesVisitor.noSonarLines());
-    return commentLinesVisitor;
+  private void createCommentLineVisitorAndFindNoSonar(JavaFileScannerContext context) {
+    CommentLinesVisitor noSonarVisitor = new CommentLinesVisitor();
+    noSonarVisitor.analyzeCommentLines(context.getTree());
+    noSonarFilter.noSonarInFile(sonarFile, noSonarVisitor.noSonarLines());
   }
 
   @Override
@@ -116,18 +156,124 @@ public class Measurer extends SubscriptionVisitor {
     if (tree.is(Tree.Kind.NEW_CLASS) && ((NewClassTree) tree).classBody() != null) {
       classes--;
     }
-    if (tree.is(Tree.Kind.METHOD, Tree.Kind.CONSTRUCTOR) && classTrees.peek().simpleName() != null) {
+    if (tree.is(Tree.Kind.METHOD, Tree.Kind.CONSTRUCTOR)) {
+      visitMethod((MethodTree) tree);
+    }
+    if (tree.is(Tree.Kind.INITIALIZER, Tree.Kind.STATIC_INITIALIZER)) {
+      cognitiveComplexity += CognitiveComplexityVisitor.initializerComplexity((BlockTree) tree);
+    }
+    visitComplexityNode(tree);
+    visitStatementNode(tree);
+  }
+
+  private void visitMethod(MethodTree methodTree) {
+    if (classTrees.peek().simpleName() != null) {
       //don't count methods in anonymous classes.
       methods++;
     }
+    if (methodTree.block() != null) {
+      complexity++;
+    }
+    cognitiveComplexity += CognitiveComplexityVisitor.methodComplexity(methodTree).complexity;
+  }
+
+  /**
+   * Same increments as {@link org.sonar.java.ast.visitors.ComplexityVisitor} applied on the whole compilation unit.
+   */
+  private void visitComplexityNode(Tree tree) {
+    switch (tree.kind()) {
+      case CASE_LABEL:
+        if (!DEFAULT_KEYWORD.equals(((CaseLabelTree) tree).caseOrDefaultKeyword().text())) {
+          // default keyword does not count in complexity
+          complexity++;
+        }
+        break;
+      case LAMBDA_EXPRESSION:
+      case FOR_EACH_STATEMENT:
+      case FOR_STATEMENT:
+      case WHILE_STATEMENT:
+      case DO_STATEMENT:
+      case IF_STATEMENT:
+      case CONDITIONAL_EXPRESSION:
+      case CONDITIONAL_AND:
+      case CONDITIONAL_OR:
+        complexity++;
+        break;
+      default:
+        // not contributing to complexity
+    }
+  }
 
+  /**
+   * Same counting as {@link org.sonar.java.ast.visitors.StatementVisitor}: declarations of local variables sharing the same
+   * type count as a single statement, while fields, parameters and variables declared in for loops are not counted.
+   */
+  private void visitStatementNode(Tree tree) {
+    switch (tree.kind()) {
+      case EMPTY_STATEMENT:
+      case IF_STATEMENT:
+      case ASSERT_STATEMENT:
+      case SWITCH_STATEMENT:
+      case WHILE_STATEMENT:
+      case DO_STATEMENT:
+      case FOR_STATEMENT:
+      case FOR_EACH_STATEMENT:
+      case BREAK_STATEMENT:
+      case CONTINUE_STATEMENT:
+      case RETURN_STATEMENT:
+      case THROW_STATEMENT:
+      case SYNCHRONIZED_STATEMENT:
+      case EXPRESSION_STATEMENT:
+        statements++;
+        break;
+      case TRY_STATEMENT:
+        TryStatementTree tryStatement = (TryStatementTree) tree;
+        statements += 1 - tryStatement.resourceList().size() - tryStatement.catches().size();
+        break;
+      case VARIABLE:
+        variableTypes.add(((VariableTree) tree).type());
+        break;
+      default:
+        // not a statement
+    }
   }
 
   @Override
   public void leaveNode(Tree tree) {
     if (isClassTree(tree)) {
       classTrees.pop();
+      for (Tree member : ((ClassTree) tree).members()) {
+        if (member.is(Tree.Kind.VARIABLE)) {
+          variableTypes.remove(((VariableTree) member).type());
+        }
+      }
+    } else if (tree.is(Tree.Kind.METHOD, Tree.Kind.CONSTRUCTOR)) {
+      for (VariableTree parameter : ((MethodTree) tree).parameters()) {
+        variableTypes.remove(parameter.type());
+      }
+    } else if (tree.is(Tree.Kind.FOR_STATEMENT)) {
+      ForStatementTree forStatement = (ForStatementTree) tree;
+      removeForLoopStatements(forStatement.initializer());
+      removeForLoopStatements(forStatement.update());
+    }
+  }
+
+  private void removeForLoopStatements(List<StatementTree> statementTrees) {
+    for (StatementTree statementTree : statementTrees) {
+      if (statementTree.is(Tree.Kind.VARIABLE)) {
+        variableTypes.remove(((VariableTree) statementTree).type());
+      } else {
+        statements--;
+      }
+    }
+  }
+
+  @Override
+  public void visitToken(SyntaxToken syntaxToken) {
+    if (!((InternalSyntaxToken) syntaxToken).isEOF()) {
+      linesOfCode.add(Position.startOf(syntaxToken).line());
     }
+    commentLinesVisitor.visitToken(syntaxToken);
   }
 
   private static boolean isClassTree(Tree tree) {
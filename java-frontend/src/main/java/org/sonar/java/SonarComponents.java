@@ -24,6 +24,7 @@ import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -35,6 +36,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.LongSupplier;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
@@ -88,6 +90,11 @@ public class SonarComponents {
   public static final String SONAR_AUTOSCAN_CHECK_FILTERING = "sonar.internal.analysis.autoscan.filtering";
   public static final String SONAR_BATCH_SIZE_KEY = "sonar.java.experimental.batchModeSizeInKB";
   public static final String SONAR_FILE_BY_FILE = "sonar.java.fileByFile";
+  /**
+   * Internal property, not declared by the plugin: number of threads parsing files ahead of the analysis in file by file mode.
+   */
+  public static final String SONAR_ANALYSIS_THREADS_KEY = "sonar.java.analysis.threads";
+  public static final String SONAR_SE_BEHAVIORS_CACHE_KEY = "sonar.java.experimental.symbolicExecution.behaviorsCache";
   /**
    * Describes if an optimized analysis of unchanged by skipping some rules is enabled.
    * By default, the property is not set (null), leaving SQ/SC to decide whether to enable this behavior.
@@ -104,7 +111,7 @@ public class SonarComponents {
 
   private final ClasspathForMain javaClasspath;
   private final ClasspathForTest javaTestClasspath;
-  private final Set<JProblem> undefinedTypes = new HashSet<>();
+  private final Set<JProblem> undefinedTypes = ConcurrentHashMap.newKeySet();
 
   private final CheckFactory checkFactory;
   @Nullable
@@ -117,7 +124,10 @@ public class SonarComponents {
   private SensorContext context;
   private UnaryOperator<List<JavaCheck>> checkFilter = UnaryOperator.identity();
 
-  private boolean alreadyLoggedSkipStatus = false;
+  /**
+   * Whether unchanged files can be skipped in this context, resolved on the first call to {@link #fileCanBeSkipped(InputFile)}.
+   */
+  private Boolean canSkipFilesInContext;
 
   public SonarComponents(FileLinesContextFactory fileLinesContextFactory, FileSystem fs,
                          ClasspathForMain javaClasspath, ClasspathForTest javaTestClasspath,
@@ -362,6 +372,24 @@ public class SonarComponents {
     return context.config().getBoolean(SONAR_FILE_BY_FILE).orElse(false);
   }
 
+  /**
+   * Number of threads used to parse files ahead of the analysis in file by file mode. Checks are still executed
+   * on the calling thread, one file after the other, in the order of the input files.
+   * @return the configured number of threads, 1 (sequential parsing) by default.
+   */
+  public int getAnalysisThreads() {
+    return Math.max(1, context.config().getInt(SONAR_ANALYSIS_THREADS_KEY).orElse(1));
+  }
+
+  /**
+   * Describes if method behaviors computed by the symbolic execution are written to the analysis cache, and replayed
+   * from it for calls to methods declared in other unchanged files.
+   * @return the configured value, false by default.
+   */
+  public boolean isSymbolicExecutionBehaviorsCacheEnabled() {
+    return context.config().getBoolean(SONAR_SE_BEHAVIORS_CACHE_KEY).orElse(false);
+  }
+
   public boolean isAutoScan() {
     return (context.config().getBoolean(SONAR_BATCH_MODE_KEY).orElse(false) ||
       context.config().getBoolean(SONAR_AUTOSCAN).orElse(false)) &&
@@ -456,29 +484,38 @@ public class SonarComponents {
       // Generated files should not be skipped as we cannot assess the change status of the source file
       return false;
     }
-    boolean canSkipInContext;
+    if (canSkipFilesInContext == null) {
+      canSkipFilesInContext = canSkipFilesInContext();
+    }
+    return canSkipFilesInContext && inputFile.status() == InputFile.Status.SAME;
+  }
+
+  private boolean canSkipFilesInContext() {
     try {
-      canSkipInContext = canSkipUnchangedFiles();
-      if (!alreadyLoggedSkipStatus) {
-        if (canSkipInContext) {
-          LOG.info("The Java analyzer is running in a context where unchanged files can be skipped. Full analysis is performed " +
-            "for changed files, optimized analysis for unchanged files.");
-        } else {
-          LOG.info("The Java analyzer cannot skip unchanged files in this context. A full analysis is performed for all files.");
-        }
-        alreadyLoggedSkipStatus = true;
+      boolean canSkipInContext = canSkipUnchangedFiles();
+      if (canSkipInContext) {
+        LOG.info("The Java analyzer is running in a context where unchanged files can be skipped. Full analysis is performed " +
+          "for changed files, optimized analysis for unchanged files.");
+      } else {
+        LOG.info("The Java analyzer cannot skip unchanged files in this context. A full analysis is performed for all files.");
       }
+      return canSkipInContext;
     } catch (ApiMismatchException e) {
-      if (!alreadyLoggedSkipStatus) {
-        LOG.info(
-          "Cannot determine whether the context allows skipping unchanged files: canSkipUnchangedFiles not part of sonar-plugin-api. Not skipping. {}",
-          e.getCause().getMessage()
-        );
-        alreadyLoggedSkipStatus = true;
-      }
+      LOG.info(
+        "Cannot determine whether the context allows skipping unchanged files: canSkipUnchangedFiles not part of sonar-plugin-api. Not skipping. {}",
+        e.getCause().getMessage()
+      );
       return false;
     }
-    return canSkipInContext && inputFile.status() == InputFile.Status.SAME;
+  }
+
+  /**
+   * @param uri URI of an input file of the module, as given by {@link InputFile#uri()}
+   * @return the input file, or null if it is not part of the module anymore.
+   */
+  @CheckForNull
+  public InputFile inputFileForUri(String uri) {
+    return fs.inputFile(fs.predicates().hasURI(URI.create(uri)));
   }
 
   public InputComponent project() {
@@ -490,21 +527,21 @@ public class SonarComponents {
   }
 
   public void logUndefinedTypes() {
-    if (!undefinedTypes.isEmpty()) {
+    // only remove what is logged, types collected concurrently will be part of the next report
+    Set<JProblem> collectedUndefinedTypes = new HashSet<>(undefinedTypes);
+    undefinedTypes.removeAll(collectedUndefinedTypes);
+    if (!collectedUndefinedTypes.isEmpty()) {
       javaClasspath.logSuspiciousEmptyLibraries();
       if (!isAutoScan()) {
         // In autoscan, test + main code are analyzed in the same batch, and we do not make the distinction between
         // test and main libraries, everything is inside "sonar.java.libraries", it is expected to let the test property empty.
         javaTestClasspath.logSuspiciousEmptyLibraries();
       }
-      logUndefinedTypes(LOGGED_MAX_NUMBER_UNDEFINED_TYPES);
-
-      // clear the set so only new undefined types will be logged
-      undefinedTypes.clear();
+      logUndefinedTypes(collectedUndefinedTypes, LOGGED_MAX_NUMBER_UNDEFINED_TYPES);
     }
   }
 
-  private void logUndefinedTypes(int maxLines) {
+  private static void logUndefinedTypes(Set<JProblem> undefinedTypes, int maxLines) {
     logParserMessages(
       undefinedTypes.stream()
         .filter(m -> m.type() == JProblem.Type.UNDEFINED_TYPE),
@@ -86,6 +86,7 @@ public class JavaAstScanner {
     try {
       JParserConfig.Mode.FILE_BY_FILE
         .create(visitor.getJavaVersion(), visitor.getClasspath())
+        .withParserThreads(analysisThreads())
         .parse(filesNames,
           this::analysisCancelled,
           analysisProgress,
@@ -121,6 +122,10 @@ public class JavaAstScanner {
     }
   }
 
+  private int analysisThreads() {
+    return sonarComponents != null ? sonarComponents.getAnalysisThreads() : 1;
+  }
+
   private boolean analysisCancelled() {
     return sonarComponents != null && sonarComponents.analysisCancelled();
   }
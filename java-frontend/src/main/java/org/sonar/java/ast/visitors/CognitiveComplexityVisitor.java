@@ -105,6 +105,15 @@ public class CognitiveComplexityVisitor extends BaseTreeVisitor {
     return Result.empty();
   }
 
+  /**
+   * @param initializer an instance or static initializer block
+   */
+  public static int initializerComplexity(BlockTree initializer) {
+    CognitiveComplexityVisitor visitor = new CognitiveComplexityVisitor();
+    initializer.accept(visitor);
+    return visitor.complexity;
+  }
+
   public static int compilationUnitComplexity(CompilationUnitTree cut) {
     // only visit methods and initializers
     class CompilationUnitVisitor extends BaseTreeVisitor {
@@ -120,9 +129,7 @@ public class CognitiveComplexityVisitor extends BaseTreeVisitor {
       @Override
       public void visitBlock(BlockTree tree) {
         if (tree.is(Tree.Kind.INITIALIZER, Tree.Kind.STATIC_INITIALIZER)) {
-          CognitiveComplexityVisitor visitor = new CognitiveComplexityVisitor();
-          tree.accept(visitor);
-          cutComplexity += visitor.complexity;
+          cutComplexity += initializerComplexity(tree);
         }
         super.visitBlock(tree);
       }
@@ -60,9 +60,9 @@ public class CommentLinesVisitor extends SubscriptionVisitor {
   }
 
   private void handleCommentsForTrivia(SyntaxTrivia trivia) {
-    String[] commentLines = getContents(trivia.comment()).split("(\r)?\n|\r", -1);
+    // comment delimiters are only made of '/' and '*': they neither hide NOSONAR nor make a line non-blank
     int line = LineUtils.startLine(trivia);
-    for (String commentLine : commentLines) {
+    for (String commentLine : LineUtils.commentLines(trivia)) {
       if(commentLine.contains("NOSONAR")) {
         noSonarLines.add(line);
       } else if (!isBlank(commentLine)) {
@@ -91,8 +91,4 @@ public class CommentLinesVisitor extends SubscriptionVisitor {
     return true;
   }
 
-
-  private static String getContents(String comment) {
-    return comment.startsWith("//") ? comment.substring(2) : comment.substring(2, comment.length() - 2);
-  }
 }
@@ -43,7 +43,6 @@ import org.sonar.plugins.java.api.tree.TypeTree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 
 import static org.sonar.java.model.LineUtils.startLine;
-import static org.sonar.plugins.java.api.tree.Tree.Kind.BLOCK;
 import static org.sonar.plugins.java.api.tree.Tree.Kind.BOOLEAN_LITERAL;
 import static org.sonar.plugins.java.api.tree.Tree.Kind.CATCH;
 import static org.sonar.plugins.java.api.tree.Tree.Kind.CHAR_LITERAL;
@@ -118,11 +117,12 @@ public class FileLinesVisitor extends SubscriptionVisitor {
         trees = visitVariable((VariableTree) tree);
         break;
       case LAMBDA_EXPRESSION:
-        trees = visitLambda((LambdaExpressionTree) tree);
+        // reuse the CFG memoized on the tree, which is also the one walked by checks and symbolic execution
+        computeExecutableLines((CFG) ((LambdaExpressionTree) tree).cfg());
         break;
       case METHOD:
       case CONSTRUCTOR:
-        trees = visitMethod((MethodTree) tree);
+        visitMethod((MethodTree) tree);
         break;
       case FOR_STATEMENT:
       case FOR_EACH_STATEMENT:
@@ -148,15 +148,7 @@ public class FileLinesVisitor extends SubscriptionVisitor {
     return Collections.emptyList();
   }
 
-  private static List<? extends Tree> visitLambda(LambdaExpressionTree lambda) {
-    Tree body = lambda.body();
-    if(body.is(BLOCK)) {
-      return ((BlockTree) body).body();
-    }
-    return Collections.singletonList(body);
-  }
-
-  private List<? extends Tree> visitMethod(MethodTree tree) {
+  private void visitMethod(MethodTree tree) {
     BlockTree methodBody = tree.block();
     if(methodBody != null) {
       // get the last
@@ -164,17 +156,21 @@ public class FileLinesVisitor extends SubscriptionVisitor {
       if(returnType == null || "void".equals(returnType.firstToken().text())) {
         executableLines.add(startLine(methodBody.closeBraceToken()));
       }
-      return methodBody.body();
+      if (!methodBody.body().isEmpty()) {
+        computeExecutableLines((CFG) tree.cfg());
+      }
     }
-    return Collections.emptyList();
   }
 
   private void computeExecutableLines(List<? extends Tree> trees) {
     if(trees.isEmpty()) {
       return;
     }
+    computeExecutableLines(CFG.buildCFG(trees));
+  }
+
+  private void computeExecutableLines(CFG cfg) {
     // rely on cfg to get every instructions and get most of the token.
-    CFG cfg = CFG.buildCFG(trees);
     cfg.blocks()
       .stream()
       .flatMap(b->b.elements().stream())
@@ -21,6 +21,7 @@ package org.sonar.java.cfg;
 
 import org.sonar.java.Preconditions;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -126,6 +127,15 @@ public class CFG implements ControlFlowGraph {
   private Map<String, Block> labelsBreakTarget = new HashMap<>();
   private Map<String, Block> labelsContinueTarget = new HashMap<>();
 
+  /**
+   * Results of {@link LiveVariables} computed on this graph, kept so that every check (and the symbolic execution engine) walking
+   * the CFG of a method shares a single analysis. The CFG being memoized on its tree, they are released together with the AST.
+   */
+  @Nullable
+  LiveVariables liveVariables;
+  @Nullable
+  LiveVariables liveVariablesWithFields;
+
   private CFG(List<? extends Tree> trees, @Nullable Symbol.MethodSymbol symbol, boolean ignoreBreakAndContinue) {
     methodSymbol = symbol;
     this.ignoreBreakAndContinue = ignoreBreakAndContinue;
@@ -176,6 +186,7 @@ public class CFG implements ControlFlowGraph {
     public static final Predicate<Block> IS_CATCH_BLOCK = Block::isCatchBlock;
     private int id;
     private final List<Tree> elements = new ArrayList<>();
+    private List<Tree> elementsInOrder = Collections.emptyList();
     private final Set<Block> successors = new LinkedHashSet<>();
     private final Set<Block> predecessors = new LinkedHashSet<>();
     private final Set<Block> exceptions = new LinkedHashSet<>();
@@ -205,6 +216,18 @@ public class CFG implements ControlFlowGraph {
       return ListUtils.reverse(elements);
     }
 
+    /**
+     * Same elements as {@link #elements()}, without a copy on each call: the returned list is shared and unmodifiable.
+     * Meant for internal callers accessing the elements at every step, such as the symbolic execution.
+     */
+    public List<Tree> orderedElements() {
+      // elements are only appended while building the CFG, so the ordered copy is up to date as long as the size did not change
+      if (elementsInOrder.size() != elements.size()) {
+        elementsInOrder = Collections.unmodifiableList(ListUtils.reverse(elements));
+      }
+      return elementsInOrder;
+    }
+
     public Block trueBlock() {
       return trueBlock;
     }
@@ -1206,6 +1229,9 @@ public class CFG implements ControlFlowGraph {
 
   public void setMethodSymbol(Symbol.MethodSymbol methodSymbol) {
     this.methodSymbol = methodSymbol;
+    // live variables depend on the owner of the symbols
+    liveVariables = null;
+    liveVariablesWithFields = null;
   }
 
 }
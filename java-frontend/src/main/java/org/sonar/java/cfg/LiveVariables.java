@@ -20,7 +20,6 @@
 package org.sonar.java.cfg;
 
 import org.sonarsource.analyzer.commons.collections.ListUtils;
-import org.sonarsource.analyzer.commons.collections.SetUtils;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
 import org.sonar.plugins.java.api.tree.ExpressionTree;
@@ -35,13 +34,13 @@ import org.sonar.plugins.java.api.tree.VariableTree;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 
 import static org.sonar.java.model.JUtils.isLocalVariable;
@@ -49,85 +48,159 @@ import static org.sonar.java.model.JUtils.isLocalVariable;
 public class LiveVariables {
 
   private final CFG cfg;
-  private final Map<CFG.Block, Set<Symbol>> out = new HashMap<>();
-  private final Map<CFG.Block, Set<Symbol>> in = new HashMap<>();
   private final boolean includeFields;
+  /**
+   * Symbols are numbered per CFG: the index of a symbol in this list is its bit in the sets below.
+   */
+  private final List<Symbol> symbols = new ArrayList<>();
+  private final Map<Symbol, Integer> symbolIndexes = new HashMap<>();
+  /**
+   * Bit sets indexed by block id, block ids being the position of blocks in {@link CFG#reversedBlocks()}.
+   */
+  private final BitSet[] out;
+  private final BitSet[] in;
+  private final Map<CFG.Block, Set<Symbol>> outSymbols = new HashMap<>();
+  private final Map<CFG.Block, Set<Symbol>> inSymbols = new HashMap<>();
 
   private LiveVariables(CFG cfg, boolean includeFields) {
     this.cfg = cfg;
     this.includeFields = includeFields;
+    int blockCount = cfg.reversedBlocks().size();
+    this.out = new BitSet[blockCount];
+    this.in = new BitSet[blockCount];
   }
 
   public Set<Symbol> getOut(CFG.Block block) {
-    return out.get(block);
+    return toSymbols(block, out, outSymbols);
   }
 
   public Set<Symbol> getIn(CFG.Block block) {
-    return in.get(block);
+    return toSymbols(block, in, inSymbols);
+  }
+
+  @CheckForNull
+  private Set<Symbol> toSymbols(CFG.Block block, BitSet[] bitSets, Map<CFG.Block, Set<Symbol>> materialized) {
+    int id = block.id();
+    if (id >= bitSets.length || cfg.reversedBlocks().get(id) != block) {
+      return null;
+    }
+    return materialized.computeIfAbsent(block, b -> {
+      BitSet bitSet = bitSets[id];
+      Set<Symbol> result = new HashSet<>();
+      for (int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) {
+        result.add(symbols.get(i));
+      }
+      return Collections.unmodifiableSet(result);
+    });
   }
 
   /**
-   * Returns LiveVariables object with information concerning local variables and parameters
+   * Returns LiveVariables object with information concerning local variables and parameters.
+   * The analysis is computed once per CFG and shared between callers.
    */
   public static LiveVariables analyze(CFG cfg) {
-    return analyze(cfg, false);
+    if (cfg.liveVariables == null) {
+      cfg.liveVariables = analyze(cfg, false);
+    }
+    return cfg.liveVariables;
   }
 
   /**
-   * Returns LiveVariables object with information concerning local variables, parameters and fields
+   * Returns LiveVariables object with information concerning local variables, parameters and fields.
+   * The analysis is computed once per CFG and shared between callers.
    */
   public static LiveVariables analyzeWithFields(CFG cfg) {
-    return analyze(cfg, true);
+    if (cfg.liveVariablesWithFields == null) {
+      cfg.liveVariablesWithFields = analyze(cfg, true);
+    }
+    return cfg.liveVariablesWithFields;
   }
 
   private static LiveVariables analyze(CFG cfg, boolean includeFields) {
     LiveVariables liveVariables = new LiveVariables(cfg, includeFields);
+    List<CFG.Block> blocks = cfg.reversedBlocks();
     // Generate kill/gen for each block in isolation
-    Map<CFG.Block, Set<Symbol>> kill = new HashMap<>();
-    Map<CFG.Block, Set<Symbol>> gen = new HashMap<>();
-    for (CFG.Block block : liveVariables.cfg.reversedBlocks()) {
-      Set<Symbol> blockKill = new HashSet<>();
-      Set<Symbol> blockGen = new HashSet<>();
+    BitSet[] kill = new BitSet[blocks.size()];
+    BitSet[] gen = new BitSet[blocks.size()];
+    for (CFG.Block block : blocks) {
+      BitSet blockKill = new BitSet();
+      BitSet blockGen = new BitSet();
       liveVariables.processBlockElements(block, blockKill, blockGen);
-      kill.put(block, blockKill);
-      gen.put(block, blockGen);
+      kill[block.id()] = blockKill;
+      gen[block.id()] = blockGen;
     }
-    liveVariables.analyzeCFG(liveVariables.in, kill, gen);
+    liveVariables.analyzeCFG(kill, gen);
     // out of exit block are empty by definition.
-    if (!liveVariables.out.get(liveVariables.cfg.reversedBlocks().get(0)).isEmpty()) {
+    if (!liveVariables.out[blocks.get(0).id()].isEmpty()) {
       throw new IllegalStateException("Out of exit block should be empty");
     }
-
-    // Make things immutable.
-    for (Map.Entry<CFG.Block, Set<Symbol>> blockSetEntry : liveVariables.out.entrySet()) {
-      blockSetEntry.setValue(Collections.unmodifiableSet(blockSetEntry.getValue()));
-    }
-
     return liveVariables;
   }
 
-  private void analyzeCFG(Map<CFG.Block, Set<Symbol>> in, Map<CFG.Block, Set<Symbol>> kill, Map<CFG.Block, Set<Symbol>> gen) {
-    Deque<CFG.Block> workList = new LinkedList<>();
-    workList.addAll(cfg.reversedBlocks());
-    while (!workList.isEmpty()) {
-      CFG.Block block = workList.removeFirst();
+  private void analyzeCFG(BitSet[] kill, BitSet[] gen) {
+    List<CFG.Block> blocks = cfg.reversedBlocks();
+    int blockCount = blocks.size();
+    for (int i = 0; i < blockCount; i++) {
+      in[i] = new BitSet();
+      out[i] = new BitSet();
+    }
+    // Blocks are created from the exit of the method towards its entry: processing them in that order visits successors first.
+    // This is the order in which the work list has always been seeded: no reverse postorder is computed, the convergence
+    // order was not changed.
+    // The work list is a ring buffer of block ids, a block being queued at most once at a time.
+    int[] workList = new int[blockCount];
+    boolean[] queued = new boolean[blockCount];
+    for (int i = 0; i < blockCount; i++) {
+      workList[i] = i;
+      queued[i] = true;
+    }
+    int head = 0;
+    int size = blockCount;
+    BitSet newIn = new BitSet();
+    while (size > 0) {
+      int id = workList[head];
+      head = (head + 1) % blockCount;
+      size--;
+      queued[id] = false;
+      CFG.Block block = blocks.get(id);
 
-      Set<Symbol> blockOut = out.computeIfAbsent(block, k -> new HashSet<>());
-      block.successors().stream().map(in::get).filter(Objects::nonNull).forEach(blockOut::addAll);
-      block.exceptions().stream().map(in::get).filter(Objects::nonNull).forEach(blockOut::addAll);
+      BitSet blockOut = out[id];
+      block.successors().forEach(successor -> blockOut.or(in[successor.id()]));
+      block.exceptions().forEach(exception -> blockOut.or(in[exception.id()]));
       // in = gen and (out - kill)
-      Set<Symbol> newIn = new HashSet<>(gen.get(block));
-      newIn.addAll(SetUtils.difference(blockOut, kill.get(block)));
+      newIn.clear();
+      newIn.or(blockOut);
+      newIn.andNot(kill[id]);
+      newIn.or(gen[id]);
 
-      if (newIn.equals(in.get(block))) {
+      if (newIn.equals(in[id])) {
         continue;
       }
-      in.put(block, newIn);
-      block.predecessors().forEach(workList::addLast);
+      in[id].clear();
+      in[id].or(newIn);
+      for (CFG.Block predecessor : block.predecessors()) {
+        int predecessorId = predecessor.id();
+        if (!queued[predecessorId]) {
+          queued[predecessorId] = true;
+          workList[(head + size) % blockCount] = predecessorId;
+          size++;
+        }
+      }
     }
   }
 
-  private void processBlockElements(CFG.Block block, Set<Symbol> blockKill, Set<Symbol> blockGen) {
+  private int indexOf(Symbol symbol) {
+    return symbolIndexes.computeIfAbsent(symbol, s -> {
+      symbols.add(s);
+      return symbols.size() - 1;
+    });
+  }
+
+  private void addAll(BitSet bitSet, Set<Symbol> usedSymbols) {
+    usedSymbols.forEach(symbol -> bitSet.set(indexOf(symbol)));
+  }
+
+  private void processBlockElements(CFG.Block block, BitSet blockKill, BitSet blockGen) {
     // process elements from bottom to top
     Set<Tree> assignmentLHS = new HashSet<>();
     for (Tree element : ListUtils.reverse(block.elements())) {
@@ -142,17 +215,18 @@ public class LiveVariables {
           processMemberSelect((MemberSelectExpressionTree) element, assignmentLHS, blockGen);
           break;
         case VARIABLE:
-          blockKill.add(((VariableTree) element).symbol());
-          blockGen.remove(((VariableTree) element).symbol());
+          int variableIndex = indexOf(((VariableTree) element).symbol());
+          blockKill.set(variableIndex);
+          blockGen.clear(variableIndex);
           break;
         case LAMBDA_EXPRESSION:
-          blockGen.addAll(getUsedVariables(((LambdaExpressionTree) element).body(), cfg.methodSymbol()));
+          addAll(blockGen, getUsedVariables(((LambdaExpressionTree) element).body(), cfg.methodSymbol()));
           break;
         case METHOD_REFERENCE:
-          blockGen.addAll(getUsedVariables(((MethodReferenceTree) element).expression(), cfg.methodSymbol()));
+          addAll(blockGen, getUsedVariables(((MethodReferenceTree) element).expression(), cfg.methodSymbol()));
           break;
         case NEW_CLASS:
-          blockGen.addAll(getUsedVariables(((NewClassTree) element).classBody(), cfg.methodSymbol()));
+          addAll(blockGen, getUsedVariables(((NewClassTree) element).classBody(), cfg.methodSymbol()));
           break;
         default:
           // Ignore other kind of elements, no change of gen/kill
@@ -160,24 +234,24 @@ public class LiveVariables {
     }
   }
 
-  private void processIdentifier(IdentifierTree element, Set<Symbol> blockGen, Set<Tree> assignmentLHS) {
+  private void processIdentifier(IdentifierTree element, BitSet blockGen, Set<Tree> assignmentLHS) {
     Symbol symbol = element.symbol();
     if (!assignmentLHS.contains(element) && includeSymbol(symbol)) {
-      blockGen.add(symbol);
+      blockGen.set(indexOf(symbol));
     }
   }
 
-  private void processMemberSelect(MemberSelectExpressionTree element, Set<Tree> assignmentLHS, Set<Symbol> blockGen) {
+  private void processMemberSelect(MemberSelectExpressionTree element, Set<Tree> assignmentLHS, BitSet blockGen) {
     Symbol symbol;
     if (!assignmentLHS.contains(element) && includeFields) {
       symbol = getField(element);
       if (symbol != null) {
-        blockGen.add(symbol);
+        blockGen.set(indexOf(symbol));
       }
     }
   }
 
-  private void processAssignment(AssignmentExpressionTree element, Set<Symbol> blockKill, Set<Symbol> blockGen, Set<Tree> assignmentLHS) {
+  private void processAssignment(AssignmentExpressionTree element, BitSet blockKill, BitSet blockGen, Set<Tree> assignmentLHS) {
     Symbol symbol = null;
     ExpressionTree lhs = element.variable();
     if (lhs.is(Kind.IDENTIFIER)) {
@@ -189,8 +263,9 @@ public class LiveVariables {
 
     if (symbol != null && includeSymbol(symbol)) {
       assignmentLHS.add(lhs);
-      blockGen.remove(symbol);
-      blockKill.add(symbol);
+      int symbolIndex = indexOf(symbol);
+      blockGen.clear(symbolIndex);
+      blockKill.set(symbolIndex);
     }
   }
 
@@ -41,6 +41,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
 import org.sonar.api.batch.ScannerSide;
 import org.sonar.api.batch.fs.FileSystem;
@@ -243,20 +244,21 @@ public abstract class AbstractClasspath {
   }
 
   private static Set<File> getMatchingLibraries(String pattern, Path dir) throws IOException {
-    Set<File> matches = new LinkedHashSet<>();
-    Set<File> dirs = getMatchingDirs(pattern, dir);
-
     PathMatcher matcher = FileSystems.getDefault().getPathMatcher(getGlob(dir, pattern));
+    // match jar in the base dir when using wildcard
+    PathMatcher baseDirMatcher = pattern.startsWith("**/") ? FileSystems.getDefault().getPathMatcher(getGlob(dir, pattern.substring(3))) : null;
+    // library directories can be huge: matching directories and libraries are all collected during a single walk
+    LibraryAndDirFinder finder = new LibraryAndDirFinder(!StringUtils.isEmpty(pattern), baseDirMatcher);
+    finder.find(dir, matcher);
+    Set<File> dirs = StringUtils.isEmpty(pattern) ? Collections.singleton(dir.toFile()) : finder.matchedDirs;
+
+    Set<File> matches = new LinkedHashSet<>();
     for (File d : dirs) {
       matches.addAll(getLibs(d.toPath()));
     }
-
     matches.addAll(dirs);
-    matches.addAll(new LibraryFinder().find(dir, matcher));
-    if (pattern.startsWith("**/")) {
-      // match jar in the base dir when using wildcard
-      matches.addAll(new LibraryFinder().find(dir, FileSystems.getDefault().getPathMatcher(getGlob(dir, pattern.substring(3)))));
-    }
+    matches.addAll(finder.matchedFiles);
+    matches.addAll(finder.baseDirMatchedFiles);
     return matches;
   }
 
@@ -298,13 +300,47 @@ public abstract class AbstractClasspath {
   private static class LibraryFinder extends AbstractFileFinder {
     @Override
     public FileVisitResult visitFile(Path file, BasicFileAttributes attr) {
-      String name = file.getFileName().toString();
-      if ((name.endsWith(".jar") || name.endsWith(".zip")) && matcher.matches(file)) {
+      if (isLibrary(file) && matcher.matches(file)) {
         matchedFiles.add(file.toFile());
       }
 
       return FileVisitResult.CONTINUE;
     }
+
+    static boolean isLibrary(Path file) {
+      String name = file.getFileName().toString();
+      return name.endsWith(".jar") || name.endsWith(".zip");
+    }
+  }
+
+  private static class LibraryAndDirFinder extends LibraryFinder {
+    private final boolean findDirs;
+    @Nullable
+    private final PathMatcher baseDirMatcher;
+    private final Set<File> matchedDirs = new LinkedHashSet<>();
+    private final Set<File> baseDirMatchedFiles = new LinkedHashSet<>();
+
+    LibraryAndDirFinder(boolean findDirs, @Nullable PathMatcher baseDirMatcher) {
+      this.findDirs = findDirs;
+      this.baseDirMatcher = baseDirMatcher;
+    }
+
+    @Override
+    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+      if (findDirs && matcher.matches(dir)) {
+        matchedDirs.add(dir.toFile());
+      }
+      return FileVisitResult.CONTINUE;
+    }
+
+    @Override
+    public FileVisitResult visitFile(Path file, BasicFileAttributes attr) {
+      super.visitFile(file, attr);
+      if (baseDirMatcher != null && isLibrary(file) && baseDirMatcher.matches(file)) {
+        baseDirMatchedFiles.add(file.toFile());
+      }
+      return FileVisitResult.CONTINUE;
+    }
   }
 
   private static Path resolvePath(Path baseDir, String fileName) {
@@ -28,8 +28,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -42,6 +44,11 @@ import org.sonar.java.annotations.VisibleForTesting;
 public class JavaSdkUtil {
   private static final String LIB_JRT_FS_JAR = "lib/jrt-fs.jar";
   private static final String ENDORSED = "endorsed";
+  /**
+   * The JDK classes roots are resolved for the main and test classpath of every module of a build, all analyzed in the
+   * same scanner JVM: they are resolved once per JDK home.
+   */
+  private static final Map<List<Object>, List<File>> JDK_CLASSES_ROOTS = new ConcurrentHashMap<>();
 
   private JavaSdkUtil() {
     // utility class
@@ -53,6 +60,21 @@ public class JavaSdkUtil {
 
   @VisibleForTesting
   static List<File> getJdkClassesRoots(Path home, boolean isMac) {
+    Path absoluteHome = home.toAbsolutePath().normalize();
+    List<Object> key = List.of(absoluteHome, isMac);
+    List<File> cached = JDK_CLASSES_ROOTS.get(key);
+    if (cached != null) {
+      return cached;
+    }
+    List<File> classesRoots = Collections.unmodifiableList(resolveJdkClassesRoots(absoluteHome, isMac));
+    if (!classesRoots.isEmpty()) {
+      // an empty result is usually a misconfiguration, which is not worth keeping
+      JDK_CLASSES_ROOTS.put(key, classesRoots);
+    }
+    return classesRoots;
+  }
+
+  private static List<File> resolveJdkClassesRoots(Path home, boolean isMac) {
     if (isModularRuntime(home)) {
       return Collections.singletonList(home.resolve(LIB_JRT_FS_JAR).toFile());
     }
@@ -20,7 +20,15 @@
 package org.sonar.java.matcher;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
 import org.sonar.plugins.java.api.semantic.MethodMatchers;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
@@ -28,37 +36,86 @@ import org.sonar.plugins.java.api.tree.MethodReferenceTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.NewClassTree;
 
+/**
+ * Matches when any of its matchers matches. Matchers restricted to exact method names are indexed by name, so only the
+ * matchers which can accept the name of the method are evaluated.
+ */
 public class MethodMatchersList implements MethodMatchers {
 
-  private List<? extends MethodMatchers> matchers;
+  private final Map<String, List<MethodMatchers>> matchersByName = new HashMap<>();
+  private final List<MethodMatchers> matchersOfAnyName = new ArrayList<>();
+  /**
+   * Union of the names of all the matchers, or null when one of them accepts any name.
+   */
+  @Nullable
+  private final Set<String> methodNames;
 
   public MethodMatchersList(List<? extends MethodMatchers> matchers) {
-    this.matchers = new ArrayList<>(matchers);
+    for (MethodMatchers matcher : matchers) {
+      Set<String> names = methodNames(matcher);
+      if (names == null) {
+        matchersOfAnyName.add(matcher);
+      } else {
+        names.forEach(name -> matchersByName.computeIfAbsent(name, k -> new ArrayList<>()).add(matcher));
+      }
+    }
+    methodNames = matchersOfAnyName.isEmpty() ? new HashSet<>(matchersByName.keySet()) : null;
+  }
+
+  @CheckForNull
+  private static Set<String> methodNames(MethodMatchers matcher) {
+    if (matcher instanceof MethodMatchersBuilder) {
+      return ((MethodMatchersBuilder) matcher).methodNames();
+    }
+    if (matcher instanceof MethodMatchersList) {
+      return ((MethodMatchersList) matcher).methodNames;
+    }
+    if (matcher instanceof NoneMethodMatchers) {
+      return Collections.emptySet();
+    }
+    return null;
   }
 
   @Override
   public boolean matches(NewClassTree newClassTree) {
-    return matchers.stream().anyMatch(matcher -> matcher.matches(newClassTree));
+    return anyMatch(newClassTree.methodSymbol(), matcher -> matcher.matches(newClassTree));
   }
 
   @Override
   public boolean matches(MethodInvocationTree mit) {
-    return matchers.stream().anyMatch(matcher -> matcher.matches(mit));
+    return anyMatch(MethodMatchersBuilder.getIdentifier(mit).symbol(), matcher -> matcher.matches(mit));
   }
 
   @Override
   public boolean matches(MethodTree methodTree) {
-    return matchers.stream().anyMatch(matcher -> matcher.matches(methodTree));
+    return anyMatch(methodTree.symbol(), matcher -> matcher.matches(methodTree));
   }
 
   @Override
   public boolean matches(MethodReferenceTree methodReferenceTree) {
-    return matchers.stream().anyMatch(matcher -> matcher.matches(methodReferenceTree));
+    return anyMatch(methodReferenceTree.method().symbol(), matcher -> matcher.matches(methodReferenceTree));
   }
 
   @Override
   public boolean matches(Symbol symbol) {
-    return matchers.stream().anyMatch(matcher -> matcher.matches(symbol));
+    return anyMatch(symbol, matcher -> matcher.matches(symbol));
+  }
+
+  private boolean anyMatch(Symbol symbol, Predicate<MethodMatchers> matches) {
+    List<MethodMatchers> candidates = matchersByName.get(symbol.name());
+    if (candidates != null) {
+      for (MethodMatchers candidate : candidates) {
+        if (matches.test(candidate)) {
+          return true;
+        }
+      }
+    }
+    for (MethodMatchers matcher : matchersOfAnyName) {
+      if (matches.test(matcher)) {
+        return true;
+      }
+    }
+    return false;
   }
 
 }
@@ -139,6 +139,11 @@ public class DefaultJavaFileScannerContext extends DefaultInputFileScannerContex
     return regexCache.getRegexForLiterals(initialFlags, stringLiterals);
   }
 
+  @Override
+  public Optional<RegexParseResult> regexForSite(Tree regexSite, Function<Tree, Optional<RegexParseResult>> siteParser) {
+    return regexCache.getRegexForSite(regexSite, siteParser);
+  }
+
   @Override
   public void reportIssue(JavaCheck javaCheck, Tree syntaxNode, String message, List<Location> secondary, @Nullable Integer cost) {
     List<List<Location>> flows = secondary.stream().map(Collections::singletonList).collect(Collectors.toList());
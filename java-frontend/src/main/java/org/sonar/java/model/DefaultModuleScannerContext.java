@@ -20,6 +20,7 @@
 package org.sonar.java.model;
 
 import java.io.File;
+import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.sonar.api.batch.fs.InputComponent;
 import org.sonar.java.SonarComponents;
@@ -68,6 +69,11 @@ public class DefaultModuleScannerContext implements ModuleScannerContext {
     return sonarComponents.projectLevelWorkDir();
   }
 
+  @CheckForNull
+  public SonarComponents getSonarComponents() {
+    return sonarComponents;
+  }
+
   public CacheContext getCacheContext() {
     return cacheContext;
   }
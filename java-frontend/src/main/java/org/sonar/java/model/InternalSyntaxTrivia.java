@@ -19,8 +19,10 @@
  */
 package org.sonar.java.model;
 
+import java.util.Collections;
 import java.util.List;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.sonar.java.model.location.InternalPosition;
 import org.sonar.plugins.java.api.location.Range;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
@@ -34,6 +36,9 @@ public class InternalSyntaxTrivia extends JavaTree implements SyntaxTrivia {
   @Nonnull
   private final Range range;
 
+  @Nullable
+  private List<String> commentLines;
+
   public InternalSyntaxTrivia(String comment, int line, int columnOffset) {
     this.comment = comment;
     range = comment.startsWith("/*")
@@ -46,6 +51,17 @@ public class InternalSyntaxTrivia extends JavaTree implements SyntaxTrivia {
     return comment;
   }
 
+  /**
+   * Lines of the comment, split once and shared by all the visitors and checks inspecting comments line by line.
+   */
+  public List<String> commentLines() {
+    if (commentLines == null) {
+      // single line comments never contain a line break
+      commentLines = comment.startsWith("/*") ? Collections.unmodifiableList(LineUtils.splitLines(comment)) : Collections.singletonList(comment);
+    }
+    return commentLines;
+  }
+
   @Override
   public int startLine() {
     return range.start().line();
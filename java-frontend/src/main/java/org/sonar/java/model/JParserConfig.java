@@ -20,19 +20,29 @@
 package org.sonar.java.model;
 
 import java.io.File;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.dom.AST;
@@ -61,10 +71,30 @@ public abstract class JParserConfig {
 
   final JavaVersion javaVersion;
   final List<File> classpath;
+  int parserThreads = 1;
+  // in file by file mode, a parser is created for every file: what only depends on the configuration is computed once
+  private final Map<String, String> compilerOptions;
+  private final String[] classpathEntries;
+  private final boolean includeRunningVMBootclasspath;
 
   private JParserConfig(JavaVersion javaVersion, List<File> classpath) {
     this.javaVersion = javaVersion;
     this.classpath = classpath;
+    this.compilerOptions = compilerOptions(javaVersion);
+    this.classpathEntries = classpath.stream()
+      .map(File::getAbsolutePath)
+      .toArray(String[]::new);
+    this.includeRunningVMBootclasspath = classpath.stream()
+      .noneMatch(f -> JRE_JARS.contains(f.getName()));
+  }
+
+  /**
+   * Number of threads used to parse files ahead of their analysis. Only used in file by file mode, where each file gets
+   * its own ECJ environment. The action consuming the results is always called from the calling thread, in input order.
+   */
+  public JParserConfig withParserThreads(int parserThreads) {
+    this.parserThreads = Math.max(1, parserThreads);
+    return this;
   }
 
   public abstract void parse(Iterable<? extends InputFile> inputFiles, BooleanSupplier isCanceled,
@@ -109,6 +139,16 @@ public abstract class JParserConfig {
 
   public ASTParser astParser() {
     ASTParser astParser = ASTParser.newParser(AST.getJLSLatest());
+    astParser.setCompilerOptions(new HashMap<>(compilerOptions));
+    astParser.setEnvironment(classpathEntries.clone(), new String[] {}, new String[] {}, includeRunningVMBootclasspath);
+
+    astParser.setResolveBindings(true);
+    astParser.setBindingsRecovery(true);
+
+    return astParser;
+  }
+
+  private static Map<String, String> compilerOptions(JavaVersion javaVersion) {
     Map<String, String> options = new HashMap<>();
     options.put(JavaCore.COMPILER_COMPLIANCE, javaVersion.effectiveJavaVersionAsString());
     options.put(JavaCore.COMPILER_SOURCE, javaVersion.effectiveJavaVersionAsString());
@@ -119,20 +159,7 @@ public abstract class JParserConfig {
     // enabling all supported compiler warnings
     JProblem.Type.compilerOptions()
       .forEach(option -> options.put(option, "warning"));
-
-    astParser.setCompilerOptions(options);
-
-    boolean includeRunningVMBootclasspath = classpath.stream()
-      .noneMatch(f -> JRE_JARS.contains(f.getName()));
-
-    astParser.setEnvironment(classpath.stream()
-      .map(File::getAbsolutePath)
-      .toArray(String[]::new), new String[] {}, new String[] {}, includeRunningVMBootclasspath);
-
-    astParser.setResolveBindings(true);
-    astParser.setBindingsRecovery(true);
-
-    return astParser;
+    return options;
   }
 
   @VisibleForTesting
@@ -239,19 +266,22 @@ public abstract class JParserConfig {
         .map(InputFile::toString)
         .collect(Collectors.toList());
       progressReport.start(filesNames);
+      ParsingQueue parsingQueue = new ParsingQueue(inputFiles.iterator(), parserThreads);
       try {
-        for (InputFile inputFile : inputFiles) {
+        while (parsingQueue.hasNext()) {
           if (isCanceled.getAsBoolean()) {
             cancelled = true;
             break;
           }
+          InputFile inputFile = parsingQueue.nextFile();
           executionTimeReport.start(inputFile);
-          parse(astParser(), inputFile, javaVersion, action);
+          action.accept(inputFile, parsingQueue.nextResult());
           executionTimeReport.end();
           progressReport.nextFile();
         }
         successfullyCompleted = !cancelled;
       } finally {
+        parsingQueue.shutdown();
         if (successfullyCompleted) {
           progressReport.stop();
         } else {
@@ -265,14 +295,111 @@ public abstract class JParserConfig {
       Result result;
       PerformanceMeasure.Duration parseDuration = PerformanceMeasure.start("JParser");
       try {
-        result = new Result(JParser.parse(astParser, javaVersion.effectiveJavaVersionAsString(), inputFile.filename(), inputFile.contents()));
-      } catch (Exception e) {
-        result = new Result(e);
+        result = parse(astParser, inputFile, javaVersion);
       } finally {
         parseDuration.stop();
       }
       action.accept(inputFile, result);
     }
+
+    private static Result parse(ASTParser astParser, InputFile inputFile, JavaVersion javaVersion) {
+      try {
+        return new Result(JParser.parse(astParser, javaVersion.effectiveJavaVersionAsString(), inputFile.filename(), inputFile.contents()));
+      } catch (Exception e) {
+        return new Result(e);
+      }
+    }
+
+    /**
+     * Provides the parsing results in the order of the input files. With a single thread, files are parsed lazily on the
+     * calling thread. Otherwise, worker threads parse a bounded window of upcoming files, each one with its own
+     * {@link ASTParser}, while the calling thread analyzes the current one. As performance measures can only be taken on
+     * the calling thread, the time spent parsing by worker threads is accumulated and logged separately on shutdown.
+     */
+    private class ParsingQueue {
+      private final Iterator<? extends InputFile> inputFiles;
+      private final Deque<InputFile> pendingFiles = new ArrayDeque<>();
+      private final Deque<Future<Result>> pendingResults = new ArrayDeque<>();
+      @Nullable
+      private final ExecutorService executor;
+      private final int lookAhead;
+      private final int threads;
+      private final AtomicInteger parsedFiles = new AtomicInteger();
+      private final AtomicLong parseNanos = new AtomicLong();
+
+      private ParsingQueue(Iterator<? extends InputFile> inputFiles, int threads) {
+        this.inputFiles = inputFiles;
+        this.threads = threads;
+        if (threads > 1) {
+          AtomicInteger threadCount = new AtomicInteger();
+          this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "sonar-java-parser-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          });
+          // keep every worker busy while bounding the number of parsed ASTs (and their ECJ environments) held in memory
+          this.lookAhead = 2 * threads;
+        } else {
+          this.executor = null;
+          this.lookAhead = 1;
+        }
+      }
+
+      boolean hasNext() {
+        return !pendingFiles.isEmpty() || inputFiles.hasNext();
+      }
+
+      InputFile nextFile() {
+        while (pendingFiles.size() < lookAhead && inputFiles.hasNext()) {
+          InputFile inputFile = inputFiles.next();
+          pendingFiles.add(inputFile);
+          if (executor != null) {
+            pendingResults.add(executor.submit(() -> parseOnWorker(inputFile)));
+          }
+        }
+        return pendingFiles.element();
+      }
+
+      private Result parseOnWorker(InputFile inputFile) {
+        long start = System.nanoTime();
+        try {
+          return parse(astParser(), inputFile, javaVersion);
+        } finally {
+          parseNanos.addAndGet(System.nanoTime() - start);
+          parsedFiles.incrementAndGet();
+        }
+      }
+
+      Result nextResult() {
+        InputFile inputFile = pendingFiles.remove();
+        // measures are not thread safe: with worker threads, only the time spent waiting for the parsing is measured
+        PerformanceMeasure.Duration parseDuration = PerformanceMeasure.start(executor == null ? "JParser" : "JParser wait");
+        try {
+          if (executor == null) {
+            return parse(astParser(), inputFile, javaVersion);
+          }
+          return pendingResults.remove().get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return new Result(e);
+        } catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          if (cause instanceof Error) {
+            throw (Error) cause;
+          }
+          return new Result(e);
+        } finally {
+          parseDuration.stop();
+        }
+      }
+
+      void shutdown() {
+        if (executor != null) {
+          executor.shutdownNow();
+          LOG.info("{} parser threads spent {} ms parsing {} files", threads, TimeUnit.NANOSECONDS.toMillis(parseNanos.get()), parsedFiles.get());
+        }
+      }
+    }
   }
 
   @VisibleForTesting
@@ -52,6 +52,10 @@ public final class JSema implements Sema {
   private final Map<Symbol.TypeSymbol, JInitializerBlockSymbol> staticInitializerBlockSymbols = new HashMap<>();
   private final Map<IAnnotationBinding, JSymbolMetadata.JAnnotationInstance> annotations = new HashMap<>();
   private final Map<String, Type> nameToTypeCache = new HashMap<>();
+  /**
+   * Cache for {@link #isSubtype(ITypeBinding, ITypeBinding)}, including negative results.
+   */
+  private final Map<ITypeBinding, Map<ITypeBinding, Boolean>> subtypeCache = new HashMap<>();
 
   JSema(AST ast) {
     this.ast = ast;
@@ -72,6 +76,11 @@ public final class JSema implements Sema {
     return Arrays.asList(result);
   }
 
+  boolean isSubtype(ITypeBinding left, ITypeBinding right) {
+    return subtypeCache.computeIfAbsent(left, k -> new HashMap<>())
+      .computeIfAbsent(right, k -> JType.isSubtype(left, right));
+  }
+
   public Symbol packageSymbol(@Nullable IPackageBinding packageBinding) {
     if (packageBinding == null) {
       return Symbols.rootPackage;
@@ -64,10 +64,10 @@ final class JType implements Type, Type.ArrayType {
   @Override
   public boolean isSubtypeOf(Type superType) {
     return !superType.isUnknown()
-      && isSubtype(this.typeBinding, ((JType) superType).typeBinding);
+      && sema.isSubtype(this.typeBinding, ((JType) superType).typeBinding);
   }
 
-  private static boolean isSubtype(ITypeBinding left, ITypeBinding right) {
+  static boolean isSubtype(ITypeBinding left, ITypeBinding right) {
     if (left.isRecovered()) {
       return false;
     }
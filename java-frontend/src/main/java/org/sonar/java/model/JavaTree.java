@@ -73,6 +73,10 @@ public abstract class JavaTree implements Tree {
 
   private List<Tree> children;
 
+  /**
+   * Cache for {@link SyntacticEquivalence#syntacticHash(Tree)}, 0 when not yet computed.
+   */
+  int syntacticHash;
 
   @Override
   @Nullable
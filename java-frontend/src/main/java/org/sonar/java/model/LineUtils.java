@@ -60,6 +60,16 @@ public final class LineUtils {
     return Position.endOf(trivia).line();
   }
 
+  /**
+   * @return the lines of the comment, the first one starting at {@link #startLine(SyntaxTrivia)}
+   */
+  public static List<String> commentLines(SyntaxTrivia trivia) {
+    if (trivia instanceof InternalSyntaxTrivia) {
+      return ((InternalSyntaxTrivia) trivia).commentLines();
+    }
+    return splitLines(trivia.comment());
+  }
+
   /**
    * @return for example:
    * "" => { "" }
@@ -79,6 +79,48 @@ public final class SyntacticEquivalence {
     return areEquivalent(left, right, SyntacticEquivalence::areDifferentVariables, false);
   }
 
+  /**
+   * Hash of the structure of a node, computed once and cached on the node. Nodes which are equivalent according to
+   * {@link #areEquivalent(Tree, Tree)}, {@link #areSemanticallyEquivalent(List, List)} or
+   * {@link #areEquivalentIncludingSameVariables(Tree, Tree)} have the same hash, so comparing hashes first avoids
+   * walking trees which cannot be equivalent. It is not consistent with a custom permissive equivalence.
+   */
+  public static int syntacticHash(@Nullable Tree node) {
+    if (node == null) {
+      return 0;
+    }
+    JavaTree tree = (JavaTree) node;
+    if (tree.syntacticHash == 0) {
+      int hash = computeSyntacticHash(tree);
+      tree.syntacticHash = hash == 0 ? 1 : hash;
+    }
+    return tree.syntacticHash;
+  }
+
+  /**
+   * @return the hash of a list of nodes, consistent with {@link #areEquivalent(List, List)}
+   */
+  public static int syntacticHash(List<? extends Tree> list) {
+    int hash = 1;
+    for (Tree tree : list) {
+      hash = 31 * hash + syntacticHash(tree);
+    }
+    return hash;
+  }
+
+  private static int computeSyntacticHash(JavaTree tree) {
+    int hash = tree.kind().ordinal();
+    if (tree instanceof SyntaxToken) {
+      return 31 * hash + Objects.hashCode(((SyntaxToken) tree).text());
+    } else if (tree.isLeaf() || tree.is(Tree.Kind.OTHER)) {
+      return hash;
+    }
+    for (Tree child : tree.getChildren()) {
+      hash = 31 * hash + syntacticHash(child);
+    }
+    return hash;
+  }
+
   private static boolean areEquivalent(List<? extends Tree> leftList,
                                       List<? extends Tree> rightList,
                                       BiPredicate<JavaTree, JavaTree> overwriteEquivalence,
@@ -23,11 +23,12 @@ import com.sonar.sslr.api.RecognitionException;
 import java.io.File;
 import java.io.InterruptedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.EnumMap;
 import java.util.List;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.StreamSupport;
@@ -60,6 +61,7 @@ import org.sonar.plugins.java.api.ModuleScannerContext;
 import org.sonar.plugins.java.api.caching.CacheContext;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
+import org.sonar.plugins.java.api.tree.SyntaxTrivia;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.Tree.Kind;
 import org.sonarsource.performance.measure.PerformanceMeasure;
@@ -76,8 +78,8 @@ public class VisitorsBridge {
   protected final JavaVersion javaVersion;
   private final List<File> classpath;
   protected boolean inAndroidContext = false;
-  private int fullyScannedFileCount = 0;
-  private int skippedFileCount = 0;
+  private final LongAdder fullyScannedFileCount = new LongAdder();
+  private final LongAdder skippedFileCount = new LongAdder();
   @VisibleForTesting
   CacheContext cacheContext;
 
@@ -216,9 +218,9 @@ public class VisitorsBridge {
 
   public void visitFile(@Nullable Tree parsedTree, boolean fileCanBeSkipped) {
     if (fileCanBeSkipped) {
-      skippedFileCount++;
+      skippedFileCount.increment();
     } else {
-      fullyScannedFileCount++;
+      fullyScannedFileCount.increment();
     }
 
     PerformanceMeasure.Duration compilationUnitDuration = PerformanceMeasure.start("CompilationUnit");
@@ -263,26 +265,31 @@ public class VisitorsBridge {
   private void runScanner(Runnable action, JavaFileScanner scanner) throws CheckFailureException {
     try {
       action.run();
-    } catch (IllegalRuleParameterException e) {
+    } catch (RuntimeException e) {
+      throw checkFailure(e, scanner);
+    }
+  }
+
+  private CheckFailureException checkFailure(RuntimeException e, JavaFileScanner scanner) {
+    if (e instanceof IllegalRuleParameterException) {
       // bad configuration of a rule parameter, we want to fail analysis fast.
       throw new AnalysisException("Bad configuration of rule parameter", e);
-    } catch (Exception e) {
-      Throwable rootCause = ThrowableUtils.getRootCause(e);
-      if (rootCause instanceof InterruptedIOException
-        || rootCause instanceof InterruptedException
-        || rootCause instanceof CancellationException
-        || analysisCancelled()) {
-        throw e;
-      }
+    }
+    Throwable rootCause = ThrowableUtils.getRootCause(e);
+    if (rootCause instanceof InterruptedIOException
+      || rootCause instanceof InterruptedException
+      || rootCause instanceof CancellationException
+      || analysisCancelled()) {
+      throw e;
+    }
 
-      String message = String.format(
-        "Unable to run check %s - %s on file '%s', To help improve the SonarSource Java Analyzer, please report this problem to SonarSource: see https://community.sonarsource.com/",
-        scanner.getClass(), ruleKey(scanner), currentFile);
+    String message = String.format(
+      "Unable to run check %s - %s on file '%s', To help improve the SonarSource Java Analyzer, please report this problem to SonarSource: see https://community.sonarsource.com/",
+      scanner.getClass(), ruleKey(scanner), currentFile);
 
-      LOG.error(message, e);
+    LOG.error(message, e);
 
-      throw new CheckFailureException(message, e);
-    }
+    return new CheckFailureException(message, e);
   }
 
   private boolean analysisCancelled() {
@@ -356,10 +363,12 @@ public class VisitorsBridge {
   }
 
   public void endOfAnalysis() {
-    if (skippedFileCount > 0) {
-      LOG.info("Optimized analysis for {} of {} files.", skippedFileCount, skippedFileCount + fullyScannedFileCount);
-    } else if (fullyScannedFileCount > 0) {
-      LOG.info("Did not optimize analysis for any files, performed a full analysis for all {} files.", fullyScannedFileCount);
+    long skippedFiles = skippedFileCount.sum();
+    long fullyScannedFiles = fullyScannedFileCount.sum();
+    if (skippedFiles > 0) {
+      LOG.info("Optimized analysis for {} of {} files.", skippedFiles, skippedFiles + fullyScannedFiles);
+    } else if (fullyScannedFiles > 0) {
+      LOG.info("Did not optimize analysis for any files, performed a full analysis for all {} files.", fullyScannedFiles);
     }
 
     var moduleContext = createScannerContext(sonarComponents, javaVersion, inAndroidContext, cacheContext);
@@ -370,19 +379,42 @@ public class VisitorsBridge {
       .forEach(check -> check.endOfAnalysis(moduleContext));
   }
 
+  @FunctionalInterface
+  private interface SubscriptionCallback {
+    void accept(SubscriptionVisitor visitor, Tree tree);
+  }
+
   private class IssuableSubscriptionVisitorsRunner implements JavaFileScanner, EndOfAnalysis {
-    private EnumMap<Tree.Kind, List<SubscriptionVisitor>> checks;
-    private List<SubscriptionVisitor> subscriptionVisitors;
+    /**
+     * Subscribed visitors, indexed by {@link Tree.Kind#ordinal()}. Kinds without any subscriber share the same empty array.
+     */
+    private final SubscriptionVisitor[][] checks;
+    private final List<SubscriptionVisitor> subscriptionVisitors;
+
+    // Non-capturing callbacks, created once per runner instead of once per visited node
+    private final SubscriptionCallback visitNode = SubscriptionVisitor::visitNode;
+    private final SubscriptionCallback leaveNode = SubscriptionVisitor::leaveNode;
+    private final SubscriptionCallback visitToken = (visitor, tree) -> visitor.visitToken((SyntaxToken) tree);
+    private final SubscriptionCallback visitTrivia = (visitor, tree) -> {
+      for (SyntaxTrivia trivia : ((SyntaxToken) tree).trivias()) {
+        visitor.visitTrivia(trivia);
+      }
+    };
 
     IssuableSubscriptionVisitorsRunner() {
-      checks = new EnumMap<>(Tree.Kind.class);
+      checks = new SubscriptionVisitor[Tree.Kind.values().length][];
+      Arrays.fill(checks, new SubscriptionVisitor[0]);
       this.subscriptionVisitors = new ArrayList<>();
     }
 
     private void add(SubscriptionVisitor subscriptionVisitor) {
       this.subscriptionVisitors.add(subscriptionVisitor);
-      subscriptionVisitor.nodesToVisit()
-        .forEach(k -> checks.computeIfAbsent(k, key -> new ArrayList<>()).add(subscriptionVisitor));
+      subscriptionVisitor.nodesToVisit().forEach(k -> {
+        SubscriptionVisitor[] subscribed = checks[k.ordinal()];
+        SubscriptionVisitor[] updated = Arrays.copyOf(subscribed, subscribed.length + 1);
+        updated[subscribed.length] = subscriptionVisitor;
+        checks[k.ordinal()] = updated;
+      });
     }
 
     @Override
@@ -443,26 +475,30 @@ public class VisitorsBridge {
 
     private void visit(Tree tree) throws CheckFailureException {
       Kind kind = tree.kind();
-      List<SubscriptionVisitor> subscribed = checks.getOrDefault(kind, Collections.emptyList());
-      Consumer<SubscriptionVisitor> callback;
-      boolean isToken = (kind == Tree.Kind.TOKEN);
-      if (isToken) {
-        callback = s -> s.visitToken((SyntaxToken) tree);
-      } else {
-        callback = s -> s.visitNode(tree);
-      }
-      forEach(subscribed, callback);
-      if (isToken) {
-        forEach(checks.getOrDefault(Tree.Kind.TRIVIA, Collections.emptyList()), s -> ((SyntaxToken) tree).trivias().forEach(s::visitTrivia));
+      SubscriptionVisitor[] subscribed = checks[kind.ordinal()];
+      if (kind == Tree.Kind.TOKEN) {
+        forEach(subscribed, visitToken, tree);
+        forEach(checks[Tree.Kind.TRIVIA.ordinal()], visitTrivia, tree);
       } else {
+        forEach(subscribed, visitNode, tree);
         visitChildren(tree);
+        forEach(subscribed, leaveNode, tree);
       }
-      if (!isToken) {
-        forEach(subscribed, s -> s.leaveNode(tree));
+    }
+
+    private void forEach(SubscriptionVisitor[] visitors, SubscriptionCallback callback, Tree tree) throws CheckFailureException {
+      for (SubscriptionVisitor visitor : visitors) {
+        PerformanceMeasure.Duration visitorDuration = PerformanceMeasure.start(visitor);
+        try {
+          callback.accept(visitor, tree);
+        } catch (RuntimeException e) {
+          throw checkFailure(e, visitor);
+        }
+        visitorDuration.stop();
       }
     }
 
-    private final void forEach(Collection<SubscriptionVisitor> visitors, Consumer<SubscriptionVisitor> callback) throws CheckFailureException {
+    private void forEach(Collection<SubscriptionVisitor> visitors, Consumer<SubscriptionVisitor> callback) throws CheckFailureException {
       for (SubscriptionVisitor visitor : visitors) {
         PerformanceMeasure.Duration visitorDuration = PerformanceMeasure.start(visitor);
         runScanner(() -> callback.accept(visitor), visitor);
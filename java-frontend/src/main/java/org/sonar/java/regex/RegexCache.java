@@ -23,7 +23,10 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import org.sonar.plugins.java.api.tree.LiteralTree;
+import org.sonar.plugins.java.api.tree.Tree;
 import org.sonarsource.analyzer.commons.regex.RegexParseResult;
 import org.sonarsource.analyzer.commons.regex.RegexParser;
 import org.sonarsource.analyzer.commons.regex.ast.FlagSet;
@@ -31,6 +34,7 @@ import org.sonarsource.performance.measure.PerformanceMeasure;
 
 public final class RegexCache {
   private final Map<List<LiteralTree>, RegexParseResult> cache = new HashMap<>();
+  private final Map<Tree, Optional<RegexParseResult>> resultsBySite = new HashMap<>();
 
   public RegexParseResult getRegexForLiterals(FlagSet initialFlags, LiteralTree... stringLiterals) {
     return cache.computeIfAbsent(
@@ -43,4 +47,17 @@ public final class RegexCache {
       });
   }
 
+  /**
+   * Extracts the regex of a method invocation or annotation only once per file, whatever the number of regex checks
+   * visiting it. The result of the first extraction is returned for all following calls on the same tree.
+   */
+  public Optional<RegexParseResult> getRegexForSite(Tree regexSite, Function<Tree, Optional<RegexParseResult>> siteParser) {
+    Optional<RegexParseResult> result = resultsBySite.get(regexSite);
+    if (result == null) {
+      result = siteParser.apply(regexSite);
+      resultsBySite.put(regexSite, result);
+    }
+    return result;
+  }
+
 }
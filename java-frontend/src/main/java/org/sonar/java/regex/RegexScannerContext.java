@@ -20,6 +20,8 @@
 package org.sonar.java.regex;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 import javax.annotation.Nullable;
 import org.sonar.plugins.java.api.tree.LiteralTree;
 import org.sonar.plugins.java.api.tree.Tree;
@@ -35,4 +37,6 @@ public interface RegexScannerContext {
 
   RegexParseResult regexForLiterals(FlagSet initialFlags, LiteralTree... stringLiterals);
 
+  Optional<RegexParseResult> regexForSite(Tree regexSite, Function<Tree, Optional<RegexParseResult>> siteParser);
+
 }
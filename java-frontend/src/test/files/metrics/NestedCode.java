@@ -0,0 +1,73 @@
+import java.util.function.Supplier;
+
+class NestedCode {
+  // comment in class
+  private int a, b;
+  static int c;
+
+  static {
+    // comment in static initializer
+    if (c > 0 && c < 10) {
+      c = 1;
+    }
+  }
+
+  {
+    for (int i = 0, j = 0; i < 10; i++, j++) {
+      a += i;
+    }
+  }
+
+  NestedCode() {
+    Runnable r = () -> {
+      // comment in lambda
+      int x = a > 0 ? 1 : 2;
+      while (x > 0) {
+        x--;
+      }
+    };
+    r.run();
+  }
+
+  Object anonymous(int p) {
+    return new Object() {
+      int d;
+
+      @Override
+      public String toString() {
+        // comment in method of anonymous class
+        Supplier<String> s = () -> d > p ? "a" : "b";
+        class Local {
+          /* comment in method of local class */
+          String value() {
+            try {
+              return s.get();
+            } catch (RuntimeException e) {
+              return "";
+            }
+          }
+        }
+        return new Local().value();
+      }
+    };
+  }
+
+  void nested() {
+    Runnable r = new Runnable() {
+      @Override
+      public void run() {
+        Supplier<Runnable> s = () -> () -> {
+          // comment in nested lambda
+          switch (a) {
+            case 1:
+              break;
+            default:
+              b++;
+          }
+        };
+        s.get().run();
+      }
+    };
+    r.run();
+  }
+}
@@ -21,14 +21,22 @@ package org.sonar.java;
 
 import java.io.File;
 import java.util.Collections;
-import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.sensor.internal.SensorContextTester;
 import org.sonar.api.issue.NoSonarFilter;
 import org.sonar.api.utils.PathUtils;
+import org.sonar.java.ast.visitors.CognitiveComplexityVisitor;
+import org.sonar.java.ast.visitors.CommentLinesVisitor;
+import org.sonar.java.ast.visitors.ComplexityVisitor;
+import org.sonar.java.ast.visitors.LinesOfCodeVisitor;
+import org.sonar.java.ast.visitors.StatementVisitor;
+import org.sonar.java.model.JParserTestUtils;
 import org.sonar.java.model.JavaVersionImpl;
 import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -37,12 +45,6 @@ class MeasurerTest {
 
   private static final int NB_OF_METRICS = 7;
   private static final File BASE_DIR = new File("src/test/files/metrics");
-  private SensorContextTester context;
-
-  @BeforeEach
-  void setUp() throws Exception {
-    context = SensorContextTester.create(BASE_DIR);
-  }
 
   @Test
   void verify_methods_metric() {
@@ -86,10 +88,38 @@ class MeasurerTest {
     checkMetric("EmptyFile.java", "ncloc", 0);
   }
 
+  @Test
+  void verify_metrics_of_nested_code() {
+    checkMetric("NestedCode.java", "classes", 2);
+    checkMetric("NestedCode.java", "functions", 4);
+    checkMetric("NestedCode.java", "complexity", 17);
+    checkMetric("NestedCode.java", "comment_lines", 6);
+  }
+
+  /**
+   * Metrics are computed in a single traversal, they have to match the ones of the dedicated visitors.
+   */
+  @ParameterizedTest
+  @ValueSource(strings = {"NestedCode.java", "Complexity.java", "CognitiveComplexity.java", "Comments.java", "Statements.java",
+    "LinesOfCode.java", "Methods.java", "Classes.java"})
+  void metrics_are_the_same_as_the_ones_of_dedicated_visitors(String filename) {
+    CompilationUnitTree cut = JParserTestUtils.parse(new File(BASE_DIR, filename));
+    CommentLinesVisitor commentLinesVisitor = new CommentLinesVisitor();
+    commentLinesVisitor.analyzeCommentLines(cut);
+
+    checkMetric(filename, "complexity", new ComplexityVisitor().getNodes(cut).size());
+    checkMetric(filename, "cognitive_complexity", CognitiveComplexityVisitor.compilationUnitComplexity(cut));
+    checkMetric(filename, "statements", new StatementVisitor().numberOfStatements(cut));
+    checkMetric(filename, "ncloc", new LinesOfCodeVisitor().linesOfCode(cut));
+    checkMetric(filename, "comment_lines", commentLinesVisitor.commentLinesMetric());
+  }
+
   /**
    * Utility method to quickly get metric out of a file.
    */
   private void checkMetric(String filename, String metric, Number expectedValue) {
+    // a new context for each check, as the same measure can not be saved twice
+    SensorContextTester context = SensorContextTester.create(BASE_DIR);
     String relativePath = PathUtils.sanitize(new File(BASE_DIR, filename).getPath());
     InputFile inputFile = TestUtils.inputFile(relativePath);
     context.fileSystem().add(inputFile);
@@ -31,6 +31,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -79,6 +80,7 @@ import org.sonar.java.classpath.ClasspathForMain;
 import org.sonar.java.classpath.ClasspathForTest;
 import org.sonar.java.exceptions.ApiMismatchException;
 import org.sonar.java.model.GeneratedFile;
+import org.sonar.java.model.JProblem;
 import org.sonar.java.model.JParserTestUtils;
 import org.sonar.java.model.JavaTree;
 import org.sonar.java.reporting.AnalyzerMessage;
@@ -657,6 +659,45 @@ class SonarComponentsTest {
     assertThat(sonarComponents.getBatchModeSizeInKB()).isEqualTo(1000);
   }
 
+  @Test
+  void analysis_threads_getter() {
+    MapSettings settings = new MapSettings();
+    SonarComponents sonarComponents = new SonarComponents(null, null, null, null, null);
+    sonarComponents.setSensorContext(SensorContextTester.create(new File("")).setSettings(settings));
+
+    // default value
+    assertThat(sonarComponents.getAnalysisThreads()).isEqualTo(1);
+
+    settings.setProperty("sonar.java.analysis.threads", "4");
+    assertThat(sonarComponents.getAnalysisThreads()).isEqualTo(4);
+
+    // invalid values fallback to sequential parsing
+    settings.setProperty("sonar.java.analysis.threads", "0");
+    assertThat(sonarComponents.getAnalysisThreads()).isEqualTo(1);
+  }
+
+  @Test
+  void symbolic_execution_behaviors_cache_getter() {
+    MapSettings settings = new MapSettings();
+    SonarComponents sonarComponents = new SonarComponents(null, null, null, null, null);
+    sonarComponents.setSensorContext(SensorContextTester.create(new File("")).setSettings(settings));
+
+    assertThat(sonarComponents.isSymbolicExecutionBehaviorsCacheEnabled()).isFalse();
+    settings.setProperty("sonar.java.experimental.symbolicExecution.behaviorsCache", "true");
+    assertThat(sonarComponents.isSymbolicExecutionBehaviorsCacheEnabled()).isTrue();
+  }
+
+  @Test
+  void inputFileForUri_finds_input_files_of_the_module() {
+    SensorContextTester sensorContextTester = SensorContextTester.create(new File(""));
+    InputFile inputFile = new TestInputFileBuilder("", "A.java").build();
+    sensorContextTester.fileSystem().add(inputFile);
+    SonarComponents sonarComponents = new SonarComponents(null, sensorContextTester.fileSystem(), null, null, null);
+
+    assertThat(sonarComponents.inputFileForUri(inputFile.uri().toString())).isSameAs(inputFile);
+    assertThat(sonarComponents.inputFileForUri(new File("Unknown.java").toURI().toString())).isNull();
+  }
+
   @Test
   void skipUnchangedFiles_returns_result_from_context() throws ApiMismatchException {
     SensorContextTester sensorContextTester = SensorContextTester.create(new File(""));
@@ -771,6 +812,19 @@ class SonarComponentsTest {
 
   }
 
+  @Test
+  void fileCanBeSkipped_resolves_the_context_only_once() throws ApiMismatchException {
+    SonarComponents sonarComponents = mock(SonarComponents.class, CALLS_REAL_METHODS);
+    when(sonarComponents.canSkipUnchangedFiles()).thenReturn(true);
+
+    InputFile inputFile = mock(InputFile.class);
+    when(inputFile.status()).thenReturn(InputFile.Status.SAME);
+
+    assertThat(sonarComponents.fileCanBeSkipped(inputFile)).isTrue();
+    assertThat(sonarComponents.fileCanBeSkipped(inputFile)).isTrue();
+    verify(sonarComponents, times(1)).canSkipUnchangedFiles();
+  }
+
   @Test
   void fileCanBeSkipped_returns_false_when_canSkipUnchangedFile_isFalse() throws ApiMismatchException {
     SonarComponents sonarComponents = mock(SonarComponents.class, CALLS_REAL_METHODS);
@@ -939,6 +993,23 @@ class SonarComponentsTest {
         .contains("- The import org.package01 cannot be resolved");
     }
 
+    @Test
+    void undefined_types_collected_concurrently_are_all_logged_once() {
+      String source = generateSource(10);
+      Set<JProblem> undefinedTypes = ((JavaTree.CompilationUnitTreeImpl) JParserTestUtils.parse(source)).sema.undefinedTypes();
+
+      undefinedTypes.parallelStream().forEach(problem -> sonarComponents.collectUndefinedTypes(Collections.singleton(problem)));
+      sonarComponents.logUndefinedTypes();
+
+      List<String> debugLogs = logTester.logs(LoggerLevel.DEBUG);
+      assertThat(debugLogs).hasSize(1);
+      undefinedTypes.forEach(problem -> assertThat(debugLogs.get(0)).contains("- " + problem));
+
+      // already logged types are not reported twice
+      sonarComponents.logUndefinedTypes();
+      assertThat(logTester.logs(LoggerLevel.DEBUG)).hasSize(1);
+    }
+
     @Test
     void suspicious_empty_libraries_should_be_logged() {
       logUndefinedTypesWithOneMainAndOneTest();
@@ -42,6 +42,7 @@ import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.fail;
 import static org.sonar.java.cfg.CFGTestUtils.buildCFG;
 import static org.sonar.plugins.java.api.tree.Tree.Kind.*;
@@ -454,6 +455,29 @@ class CFGTest {
     assertThat(exit.isMethodExitBlock()).as("2nd block is an exit").isTrue();
   }
 
+  @Test
+  void ordered_block_elements_are_not_copied_on_each_access() {
+    final CFG cfg = buildCFG("void fun() { bar();qix();}");
+    CFG.Block entry = cfg.entryBlock();
+    List<Tree> elements = entry.orderedElements();
+    assertThat(elements).extracting(Tree::kind).containsExactly(IDENTIFIER, METHOD_INVOCATION, IDENTIFIER, METHOD_INVOCATION);
+    assertThat(entry.orderedElements()).isSameAs(elements);
+    assertThatThrownBy(() -> elements.add(elements.get(0))).isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void block_elements_are_a_new_mutable_copy_on_each_access() {
+    final CFG cfg = buildCFG("void fun() { bar();qix();}");
+    CFG.Block entry = cfg.entryBlock();
+    List<Tree> elements = entry.elements();
+    assertThat(elements).containsExactlyElementsOf(entry.orderedElements());
+    assertThat(entry.elements()).isNotSameAs(elements);
+    // callers of the public API may modify the returned list, without affecting the block
+    Collections.reverse(elements);
+    elements.remove(0);
+    assertThat(entry.elements()).hasSize(4).containsExactlyElementsOf(entry.orderedElements());
+  }
+
   @Test
   void cfg_with_record() {
     final CFG cfg = buildCFG("void fun() { record R(int x) {} bar();}");
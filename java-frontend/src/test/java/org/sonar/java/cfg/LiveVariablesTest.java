@@ -21,6 +21,7 @@ package org.sonar.java.cfg;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.sonar.java.model.JParserTestUtils;
 import org.sonar.plugins.java.api.semantic.Symbol;
@@ -145,4 +146,31 @@ class LiveVariablesTest {
     assertThat(in).hasSize(inEntryNames.length);
     in.forEach(symbol -> assertThat(symbol.name()).isIn(inEntryNames));
   }
+
+  @Test
+  void analysis_is_shared_by_all_users_of_a_cfg() {
+    CFG cfg = buildCFG("void foo(int a) { int i = a; foo(i); }");
+    LiveVariables liveVariables = LiveVariables.analyze(cfg);
+    assertThat(LiveVariables.analyze(cfg)).isSameAs(liveVariables);
+    LiveVariables withFields = LiveVariables.analyzeWithFields(cfg);
+    assertThat(withFields).isNotSameAs(liveVariables);
+    assertThat(LiveVariables.analyzeWithFields(cfg)).isSameAs(withFields);
+
+    cfg.setMethodSymbol(cfg.methodSymbol());
+    assertThat(LiveVariables.analyze(cfg)).isNotSameAs(liveVariables);
+    assertThat(LiveVariables.analyzeWithFields(cfg)).isNotSameAs(withFields);
+  }
+
+  @Test
+  void liveness_is_propagated_through_loops() {
+    CFG cfg = buildCFG("void foo(int a) { int i = 0; int j = 1; int k = 2; while (a > 0) { a = i; i = j; j = k; } }");
+    LiveVariables liveVariables = LiveVariables.analyze(cfg);
+    Set<Symbol> in = liveVariables.getIn(cfg.entryBlock());
+    assertThat(in).extracting(Symbol::name).containsOnly("a");
+    assertThat(liveVariables.getIn(cfg.entryBlock())).isSameAs(in);
+    CFG.Block loopCondition = cfg.entryBlock().successors().iterator().next();
+    assertThat(liveVariables.getIn(loopCondition)).extracting(Symbol::name).containsOnly("a", "i", "j", "k");
+    assertThat(liveVariables.getOut(cfg.exitBlock())).isEmpty();
+  }
+
 }
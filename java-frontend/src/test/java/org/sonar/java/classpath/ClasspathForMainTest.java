@@ -20,11 +20,25 @@
 package org.sonar.java.classpath;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import org.apache.commons.lang3.ArrayUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -334,6 +348,76 @@ class ClasspathForMainTest {
     assertThat(javaClasspath.getElements()).extracting("name").contains("hello.jar", "world.jar", "foo.jar", "android.jar");
   }
 
+  @ParameterizedTest
+  @ValueSource(strings = {"**/*.jar", "libs/**/*.jar", "libs/*", "libs/*/*.jar", "**/nested", "libs/**/*.jar,**/*.jar,libs/*"})
+  void wildcard_libraries_are_resolved_in_walk_order_without_duplicates(String libraries, @TempDir Path baseDir) throws Exception {
+    for (String file : Arrays.asList("a.jar", "libs/b.jar", "libs/b.zip", "libs/b.txt", "libs/nested/c.jar", "libs/nested/c.aar",
+      "libs/nested/deeper/d.jar", "libs/dir.jar/e.jar", "other/f.jar", "other/nested/g.jar")) {
+      Path path = baseDir.resolve(file);
+      Files.createDirectories(path.getParent());
+      Files.createFile(path);
+    }
+    fs = new DefaultFileSystem(baseDir.toFile());
+    settings.setProperty(ClasspathProperties.SONAR_JAVA_LIBRARIES, libraries);
+    javaClasspath = createJavaClasspath();
+
+    Set<File> expected = new LinkedHashSet<>();
+    for (String library : libraries.split(",")) {
+      int lastSeparator = library.substring(0, library.indexOf('*')).lastIndexOf('/');
+      Path dir = lastSeparator == -1 ? baseDir : baseDir.resolve(library.substring(0, lastSeparator));
+      expected.addAll(walkMatchingLibraries(dir, library.substring(lastSeparator + 1)));
+    }
+    assertThat(expected).isNotEmpty();
+    assertThat(javaClasspath.getElements())
+      .doesNotHaveDuplicates()
+      .containsExactlyElementsOf(expected);
+  }
+
+  /**
+   * Libraries matching a pattern as they were resolved with one directory walk per kind of match: libraries of the matching
+   * directories, the matching directories themselves, the matching libraries, and for "**&#47;" patterns the matching libraries
+   * of the base directory.
+   */
+  private static List<File> walkMatchingLibraries(Path dir, String pattern) throws IOException {
+    PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + dir + "/" + pattern);
+    List<File> matchingDirs = new ArrayList<>();
+    List<File> matchingLibraries = new ArrayList<>();
+    walk(dir, matcher, matchingDirs, matchingLibraries);
+    List<File> result = new ArrayList<>();
+    for (File matchingDir : matchingDirs) {
+      try (DirectoryStream<Path> stream = Files.newDirectoryStream(matchingDir.toPath(), p -> p.toString().matches(".*\\.(jar|zip|aar)"))) {
+        stream.forEach(p -> result.add(p.toFile()));
+      }
+    }
+    result.addAll(matchingDirs);
+    result.addAll(matchingLibraries);
+    if (pattern.startsWith("**/")) {
+      PathMatcher baseDirMatcher = FileSystems.getDefault().getPathMatcher("glob:" + dir + "/" + pattern.substring(3));
+      walk(dir, baseDirMatcher, new ArrayList<>(), result);
+    }
+    return result;
+  }
+
+  private static void walk(Path dir, PathMatcher matcher, List<File> matchingDirs, List<File> matchingLibraries) throws IOException {
+    Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+      @Override
+      public FileVisitResult preVisitDirectory(Path d, BasicFileAttributes attrs) {
+        if (matcher.matches(d)) {
+          matchingDirs.add(d.toFile());
+        }
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+        if (file.toString().matches(".*\\.(jar|zip)") && matcher.matches(file)) {
+          matchingLibraries.add(file.toFile());
+        }
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
   @Test
   void non_existing_resources_should_fail() throws Exception {
     settings.setProperty(ClasspathProperties.SONAR_JAVA_LIBRARIES, "toto/**/hello.jar");
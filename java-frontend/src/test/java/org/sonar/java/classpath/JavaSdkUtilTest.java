@@ -51,6 +51,14 @@ class JavaSdkUtilTest {
     assertThat(jdkClassesRoots.get(0)).hasName("jrt-fs.jar");
   }
 
+  @Test
+  void jdk_classes_roots_are_resolved_once_per_jdk_home() {
+    Path path = new File("src/test/jdk/jdk_classic").toPath();
+    List<File> jdkClassesRoots = JavaSdkUtil.getJdkClassesRoots(path);
+    assertThat(JavaSdkUtil.getJdkClassesRoots(path.toAbsolutePath())).isSameAs(jdkClassesRoots);
+    assertThat(JavaSdkUtil.getJdkClassesRoots(path, true)).isNotSameAs(jdkClassesRoots);
+  }
+
   @Test
   void should_find_jars_in_mac_jdk() {
     Path path = new File("src/test/jdk/jdk_mac").toPath();
@@ -19,6 +19,7 @@
  */
 package org.sonar.java.model;
 
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.sonar.plugins.java.api.location.Range;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
@@ -36,6 +37,7 @@ class InternalSyntaxTriviaTest {
     assertThat(trivia.startLine()).isEqualTo(42);
     assertThat(trivia.column()).isEqualTo(21);
     assertThat(trivia.range()).isEqualTo(Range.at(42, 22, 42, 32));
+    assertThat(((InternalSyntaxTrivia) trivia).commentLines()).containsExactly("// comment");
 
     JavaTree tree = (JavaTree) trivia;
     assertThat(tree.getLine()).isEqualTo(42);
@@ -52,6 +54,9 @@ class InternalSyntaxTriviaTest {
     assertThat(trivia.startLine()).isEqualTo(42);
     assertThat(trivia.column()).isEqualTo(21);
     assertThat(trivia.range()).isEqualTo(Range.at(42, 22, 43, 12));
+    List<String> commentLines = ((InternalSyntaxTrivia) trivia).commentLines();
+    assertThat(commentLines).containsExactly("/* line1", "   line2 */");
+    assertThat(((InternalSyntaxTrivia) trivia).commentLines()).isSameAs(commentLines);
 
     JavaTree tree = (JavaTree) trivia;
     assertThat(tree.getLine()).isEqualTo(42);
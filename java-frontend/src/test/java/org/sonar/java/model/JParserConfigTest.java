@@ -19,13 +19,27 @@
  */
 package org.sonar.java.model;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.utils.log.LogTesterJUnit5;
+import org.sonar.api.utils.log.LoggerLevel;
+import org.sonar.java.AnalysisProgress;
+import org.sonar.java.TestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.sonar.java.model.JParserConfig.shouldEnablePreviewFlag;
 
 class JParserConfigTest {
 
+  @RegisterExtension
+  public LogTesterJUnit5 logTester = new LogTesterJUnit5();
+
   @Test
   void should_enable_preview() {
     assertThat(shouldEnablePreviewFlag(new JavaVersionImpl(8))).isFalse();
@@ -39,4 +53,50 @@ class JParserConfigTest {
     assertThat(shouldEnablePreviewFlag(JavaVersionImpl.fromString("1.8"))).isFalse();
   }
 
+  @Test
+  void file_by_file_parsing_with_multiple_threads_keeps_input_order() throws Exception {
+    List<InputFile> inputFiles = Arrays.asList(
+      TestUtils.inputFile("src/test/files/metrics/Classes.java"),
+      TestUtils.emptyInputFile("!!dummy"),
+      TestUtils.inputFile("src/test/files/metrics/Methods.java"),
+      TestUtils.inputFile("src/test/files/metrics/Comments.java"),
+      TestUtils.inputFile("src/test/files/metrics/Statements.java"));
+
+    List<InputFile> visitedFiles = new ArrayList<>();
+    List<JParserConfig.Result> results = new ArrayList<>();
+    JParserConfig.Mode.FILE_BY_FILE
+      .create(new JavaVersionImpl(), Collections.emptyList())
+      .withParserThreads(3)
+      .parse(inputFiles, () -> false, new AnalysisProgress(inputFiles.size()), (inputFile, result) -> {
+        visitedFiles.add(inputFile);
+        results.add(result);
+      });
+
+    assertThat(visitedFiles).containsExactlyElementsOf(inputFiles);
+    assertThat(results.get(0).get()).isNotNull();
+    // a file failing to parse does not prevent the analysis of the following ones
+    assertThat(catchThrowable(results.get(1)::get)).isNotNull();
+    for (JParserConfig.Result result : results.subList(2, results.size())) {
+      assertThat(result.get()).isNotNull();
+    }
+    // the parsing time of the worker threads is reported separately
+    assertThat(logTester.logs(LoggerLevel.INFO)).anyMatch(log -> log.matches("3 parser threads spent \\d+ ms parsing 5 files"));
+  }
+
+  @Test
+  void file_by_file_parsing_with_multiple_threads_stops_when_cancelled() {
+    List<InputFile> inputFiles = Arrays.asList(
+      TestUtils.inputFile("src/test/files/metrics/Classes.java"),
+      TestUtils.inputFile("src/test/files/metrics/Methods.java"),
+      TestUtils.inputFile("src/test/files/metrics/Comments.java"));
+
+    List<InputFile> visitedFiles = new ArrayList<>();
+    JParserConfig.Mode.FILE_BY_FILE
+      .create(new JavaVersionImpl(), Collections.emptyList())
+      .withParserThreads(2)
+      .parse(inputFiles, () -> !visitedFiles.isEmpty(), new AnalysisProgress(inputFiles.size()), (inputFile, result) -> visitedFiles.add(inputFile));
+
+    assertThat(visitedFiles).containsExactly(inputFiles.get(0));
+  }
+
 }
@@ -61,6 +61,16 @@ class JSemaTest {
     );
   }
 
+  @Test
+  void isSubtype() {
+    ITypeBinding list = Objects.requireNonNull(sema.resolveType("java.util.ArrayList"));
+    ITypeBinding collection = Objects.requireNonNull(sema.resolveType("java.util.Collection"));
+    assertThat(sema.isSubtype(list, collection)).isTrue();
+    assertThat(sema.isSubtype(list, collection)).isTrue();
+    assertThat(sema.isSubtype(collection, list)).isFalse();
+    assertThat(sema.isSubtype(collection, list)).isFalse();
+  }
+
   @Test
   void resolvePackageAnnotations() {
     assertThat(sema.resolvePackageAnnotations("org.sonar.java.resolve.targets"))
@@ -27,6 +27,7 @@ import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.sonar.java.model.LineUtils.commentLines;
 import static org.sonar.java.model.LineUtils.endLine;
 import static org.sonar.java.model.LineUtils.splitLines;
 import static org.sonar.java.model.LineUtils.startLine;
@@ -79,6 +80,13 @@ class LineUtilsTest {
       .containsExactly("a", "", "b", "", "c", "", "d", "", "");
   }
 
+  @Test
+  void comment_lines() {
+    ClassTree classTree = (ClassTree) tree.types().get(0);
+    SyntaxTrivia trivia = classTree.lastToken().trivias().get(0);
+    assertThat(commentLines(trivia)).containsExactly("/*", "  * trivia", "  */");
+  }
+
   @Test
   void start_Line() {
     assertThat(startLine(tree)).isEqualTo(1);
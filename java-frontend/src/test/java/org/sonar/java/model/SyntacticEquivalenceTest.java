@@ -63,6 +63,26 @@ class SyntacticEquivalenceTest {
     assertAreEquivalent("foo(a, b, c)", "foo(a, b, c)");
   }
 
+  @Test
+  void syntactic_hash() {
+    CompilationUnitTree compilationUnitTree = compilationUnitTree("class A { " +
+      "void m1() { foo(a, b); bar(); } " +
+      "void m2() { foo(a, b); bar(); } " +
+      "void m3() { foo(b, a); bar(); } }");
+    List<Tree> members = ((ClassTree) compilationUnitTree.types().get(0)).members();
+    List<StatementTree> m1Body = ((MethodTree) members.get(0)).block().body();
+    List<StatementTree> m2Body = ((MethodTree) members.get(1)).block().body();
+    List<StatementTree> m3Body = ((MethodTree) members.get(2)).block().body();
+
+    assertThat(SyntacticEquivalence.syntacticHash(m1Body)).isEqualTo(SyntacticEquivalence.syntacticHash(m2Body));
+    assertThat(SyntacticEquivalence.syntacticHash(m1Body.get(1))).isEqualTo(SyntacticEquivalence.syntacticHash(m3Body.get(1)));
+    assertThat(SyntacticEquivalence.syntacticHash(m1Body.get(0))).isNotEqualTo(SyntacticEquivalence.syntacticHash(m3Body.get(0)));
+    assertThat(SyntacticEquivalence.syntacticHash(m1Body)).isNotEqualTo(SyntacticEquivalence.syntacticHash(m3Body));
+    assertThat(SyntacticEquivalence.syntacticHash(m1Body.get(0))).isNotZero();
+    assertThat(SyntacticEquivalence.syntacticHash((Tree) null)).isZero();
+    assertThat(SyntacticEquivalence.syntacticHash(new JavaTree.NotImplementedTreeImpl())).isNotZero();
+  }
+
   @Test
   void lambda_equivalence() {
     assertAreEquivalent("foo(bar->0)", "foo(bar->0)");
@@ -247,6 +247,57 @@ class VisitorsBridgeTest {
     assertThat(logTester.logs(LoggerLevel.ERROR)).isEmpty();
   }
 
+  @Test
+  void subscription_visitors_are_called_in_registration_order_for_nodes_tokens_and_trivia() {
+    List<String> trace = new ArrayList<>();
+    class TracingVisitor extends IssuableSubscriptionVisitor {
+      private final String name;
+
+      TracingVisitor(String name) {
+        this.name = name;
+      }
+
+      @Override
+      public List<Tree.Kind> nodesToVisit() {
+        return Arrays.asList(Tree.Kind.METHOD, Tree.Kind.TOKEN, Tree.Kind.TRIVIA);
+      }
+
+      @Override
+      public void visitNode(Tree tree) {
+        trace.add(name + " visit " + tree.kind());
+      }
+
+      @Override
+      public void leaveNode(Tree tree) {
+        trace.add(name + " leave " + tree.kind());
+      }
+
+      @Override
+      public void visitToken(SyntaxToken syntaxToken) {
+        if ("void".equals(syntaxToken.text())) {
+          trace.add(name + " token " + syntaxToken.text());
+        }
+      }
+
+      @Override
+      public void visitTrivia(SyntaxTrivia syntaxTrivia) {
+        trace.add(name + " trivia " + syntaxTrivia.comment());
+      }
+    }
+    VisitorsBridge visitorsBridge = new VisitorsBridge(Arrays.asList(new TracingVisitor("A"), new TracingVisitor("B")), new ArrayList<>(), null);
+    checkFile("Foo.java", "class Foo { /* c */ void foo() {} }", visitorsBridge);
+
+    assertThat(trace).containsExactly(
+      "A visit METHOD",
+      "B visit METHOD",
+      "A token void",
+      "B token void",
+      "A trivia /* c */",
+      "B trivia /* c */",
+      "A leave METHOD",
+      "B leave METHOD");
+  }
+
   @Test
   void should_not_create_symbol_table_for_generated() {
     SonarComponents sonarComponents = mock(SonarComponents.class);
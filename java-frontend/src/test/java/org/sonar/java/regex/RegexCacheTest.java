@@ -19,7 +19,10 @@
  */
 package org.sonar.java.regex;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 import org.junit.jupiter.api.Test;
 import org.sonar.java.model.JParserTestUtils;
 import org.sonar.plugins.java.api.tree.ClassTree;
@@ -83,4 +86,26 @@ class RegexCacheTest {
     assertThat(resultForS1S0).isSameAs(cache.getRegexForLiterals(new FlagSet(), s1, s0));
   }
 
+  @Test
+  void site_is_parsed_only_once() {
+    CompilationUnitTree cut = JParserTestUtils.parse(
+      "class A {\n"
+        + "  String s0 = \"abc\";\n"
+        + "}");
+    ClassTree a = (ClassTree) cut.types().get(0);
+    LiteralTree s0 = (LiteralTree) ((VariableTree) a.members().get(0)).initializer();
+
+    RegexCache cache = new RegexCache();
+    List<Tree> parsedSites = new ArrayList<>();
+    Function<Tree, Optional<RegexParseResult>> siteParser = site -> {
+      parsedSites.add(site);
+      return Optional.of(cache.getRegexForLiterals(new FlagSet(), (LiteralTree) site));
+    };
+    Optional<RegexParseResult> result = cache.getRegexForSite(s0, siteParser);
+
+    assertThat(result).isPresent();
+    assertThat(cache.getRegexForSite(s0, siteParser)).isSameAs(result);
+    assertThat(parsedSites).containsExactly(s0);
+  }
+
 }
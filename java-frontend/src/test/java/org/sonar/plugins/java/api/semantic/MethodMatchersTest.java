@@ -242,6 +242,19 @@ class MethodMatchersTest {
       MethodMatchers.create().ofTypes("pkg.A").names("f").addParametersMatcher("int").build())))
       .containsExactly(4, 5, 7, 8);
 
+    // or, mixing matchers indexed by name with matchers accepting any name
+    MethodMatchers nested = MethodMatchers.or(
+      MethodMatchers.create().ofTypes("pkg.A").names("g", "f").addParametersMatcher("int").build(),
+      MethodMatchers.none());
+    assertThat(findMatchesOnTree(source, MethodMatchers.or(
+      nested,
+      MethodMatchers.create().ofTypes("pkg.A").name(name -> name.startsWith("<")).addParametersMatcher("int").build())))
+      .containsExactly(4, 5, 7, 8, 9);
+    assertThat(findMatchesOnTree(source, MethodMatchers.or(
+      nested,
+      MethodMatchers.create().ofTypes("pkg.A").names("main").addWithoutParametersMatcher().build())))
+      .containsExactly(5, 6, 8, 9);
+
     // empty
     assertThat(findMatchesOnTree(source, MethodMatchers.none())).isEmpty();
     assertThat(findMatchesOnSymbol(source, MethodMatchers.none())).isEmpty();
@@ -112,8 +112,8 @@ public class CheckerDispatcher implements CheckerContext {
       explodedGraphWalker.programState = checks.get(currentCheckerIndex).checkPostStatement(this, syntaxNode);
     } else {
       CFG.Block block = (CFG.Block) explodedGraphWalker.programPosition.block;
-      if (explodedGraphWalker.programPosition.i < block.elements().size()) {
-        explodedGraphWalker.clearStack(block.elements().get(explodedGraphWalker.programPosition.i));
+      if (explodedGraphWalker.programPosition.i < block.orderedElements().size()) {
+        explodedGraphWalker.clearStack(block.orderedElements().get(explodedGraphWalker.programPosition.i));
       }
       explodedGraphWalker.enqueue(
         explodedGraphWalker.programPosition.next(),
@@ -19,8 +19,8 @@
  */
 package org.sonar.java.se;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import org.sonar.java.Preconditions;
 
@@ -53,7 +53,7 @@ public class ExplodedGraph {
     }
     result.isNew = true;
     nodes.put(result, result);
-    nodesByProgramPoint.computeIfAbsent(programPoint, k -> new LinkedList<>()).add(result);
+    nodesByProgramPoint.computeIfAbsent(programPoint, k -> new ArrayList<>(2)).add(result);
     return result;
   }
 
@@ -67,7 +67,12 @@ public class ExplodedGraph {
     @Nullable
     public final ProgramState programState;
 
-    private final Map<Node, Edge> edges = new HashMap<>();
+    /**
+     * Edges to the parents of the node. Most nodes have a single parent, so the map is only allocated once a node gets a
+     * second one. The iteration order, on which {@link #parent()} and the flow computations rely, is the one of a
+     * {@link HashMap} in all cases.
+     */
+    private Map<Node, Edge> edges = Collections.emptyMap();
 
     private boolean isNew;
     boolean exitPath = false;
@@ -86,13 +91,34 @@ public class ExplodedGraph {
       if (parent == null) {
         return;
       }
-      Edge edge = edges.computeIfAbsent(parent, p -> new Edge(this, p));
+      Edge edge = edgeFrom(parent);
       if (methodYield != null) {
         Preconditions.checkState(parent.programPoint.syntaxTree().is(Tree.Kind.METHOD_INVOCATION), "Yield on edge where parent is not MIT");
         edge.yields.add(methodYield);
       }
     }
 
+    private Edge edgeFrom(Node parent) {
+      Edge edge = edges.get(parent);
+      if (edge == null) {
+        edge = new Edge(this, parent);
+        if (edges.isEmpty()) {
+          edges = Collections.singletonMap(parent, edge);
+        } else {
+          if (edges.size() == 1) {
+            // default capacity and same insertions as a map allocated with the node, hence the same iteration order.
+            // putAll is not used on purpose: it would size the table after the single edge and change the iteration order.
+            Map<Node, Edge> map = new HashMap<>();
+            Map.Entry<Node, Edge> first = edges.entrySet().iterator().next();
+            map.put(first.getKey(), first.getValue());
+            edges = map;
+          }
+          edges.put(parent, edge);
+        }
+      }
+      return edge;
+    }
+
     public Collection<Node> siblings() {
       Collection<Node> collection = explodedGraph.nodesByProgramPoint.getOrDefault(programPoint, Collections.emptyList());
       collection.remove(this);
@@ -101,11 +127,11 @@ public class ExplodedGraph {
 
     @Nullable
     public Node parent() {
-      return parents().stream().findFirst().orElse(null);
+      return edges.isEmpty() ? null : edges.keySet().iterator().next();
     }
 
     /**
-     * @return the ordered (by insertion) sets of parents
+     * @return a view of the parents, in the iteration order of the edges
      */
     public Set<Node> parents() {
       return edges.keySet();
@@ -118,6 +144,9 @@ public class ExplodedGraph {
 
     @Override
     public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
       if (obj instanceof Node) {
         Node other = (Node) obj;
         return this.programPoint.equals(other.programPoint)
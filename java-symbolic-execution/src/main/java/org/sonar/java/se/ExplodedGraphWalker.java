@@ -258,13 +258,13 @@ public class ExplodedGraphWalker {
       }
       try {
         Tree terminator = block.terminator();
-        if (programPosition.i < block.elements().size()) {
+        if (programPosition.i < block.orderedElements().size()) {
           // process block element
-          visit(block.elements().get(programPosition.i), terminator);
+          visit(block.orderedElements().get(programPosition.i), terminator);
         } else if (terminator == null) {
           // process block exit, which is unconditional jump such as goto-statement or return-statement
           handleBlockExit(programPosition);
-        } else if (programPosition.i == block.elements().size()) {
+        } else if (programPosition.i == block.orderedElements().size()) {
           // process block exist, which is conditional jump such as if-statement
           PerformanceMeasure.Duration postStatementDuration = PerformanceMeasure.start("PostStatement");
           checkerDispatcher.executeCheckPostStatement(terminator);
@@ -910,14 +910,14 @@ public class ExplodedGraphWalker {
 
   private static boolean isCaughtByBlock(@Nullable Type thrownType, CFG.Block catchBlock) {
     if (thrownType != null) {
-      Type caughtType = ((VariableTree) catchBlock.elements().get(0)).symbol().type();
+      Type caughtType = ((VariableTree) catchBlock.orderedElements().get(0)).symbol().type();
       return thrownType.isSubtypeOf(caughtType) || caughtType.isSubtypeOf(thrownType);
     }
     return false;
   }
 
   private static boolean isCatchingUncheckedException(CFG.Block catchBlock) {
-    Type caughtType = ((VariableTree) catchBlock.elements().get(0)).symbol().type();
+    Type caughtType = ((VariableTree) catchBlock.orderedElements().get(0)).symbol().type();
     return ExceptionUtils.isUncheckedException(caughtType);
   }
 
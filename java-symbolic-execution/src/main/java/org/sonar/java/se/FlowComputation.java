@@ -24,6 +24,7 @@ import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -86,6 +87,9 @@ public class FlowComputation {
   private final List<Class<? extends Constraint>> domains;
   private final boolean skipExceptionMessages;
   private final int maxReturnedFlows;
+  // an edge is usually reached by many execution paths: what only depends on the edge and on this query is computed once
+  private final Map<ExplodedGraph.Edge, Set<LearnedConstraint>> learnedConstraintsByEdge = new HashMap<>();
+  private final Map<ExplodedGraph.Edge, Set<Flow>> yieldsFlowsByEdge = new HashMap<>();
 
   private FlowComputation(Set<SymbolicValue> symbolicValues, Predicate<Constraint> addToFlow,
                           Predicate<Constraint> terminateTraversal, List<Class<? extends Constraint>> domains,
@@ -331,7 +335,7 @@ public class FlowComputation {
       }
 
       Flow currentFlow = flowBuilder.build();
-      Set<Flow> yieldsFlows = flowFromYields(edge, maxReturnedFlows);
+      Set<Flow> yieldsFlows = yieldsFlowsByEdge.computeIfAbsent(edge, e -> flowFromYields(e, maxReturnedFlows));
       if (yieldsFlows.isEmpty()) {
         return Stream.of(new ExecutionPath(edge, visited.add(edge), newTrackSymbols, newSameConstraints, Flow.of(currentFlow), endOfPath));
       }
@@ -564,6 +568,10 @@ public class FlowComputation {
     }
 
     Set<LearnedConstraint> learnedConstraints(ExplodedGraph.Edge edge) {
+      return learnedConstraintsByEdge.computeIfAbsent(edge, this::computeLearnedConstraints);
+    }
+
+    private Set<LearnedConstraint> computeLearnedConstraints(ExplodedGraph.Edge edge) {
       Set<LearnedConstraint> learnedConstraints = edge.learnedConstraints();
       Set<LearnedConstraint> lcByDomain = new HashSet<>();
       // guarantee that we will keep the same domain order when reporting
@@ -746,8 +754,8 @@ public class FlowComputation {
     private boolean isMethodInvocationNode(ExplodedGraph.Node node) {
       // ProgramPoint#syntaxTree will not always return the correct tree, so we need to go to ProgramPoint#block directly
       ProgramPoint pp = node.programPoint;
-      if (pp.i < pp.block.elements().size()) {
-        Tree tree = ((CFG.Block) pp.block).elements().get(pp.i);
+      if (pp.i < ((CFG.Block) pp.block).orderedElements().size()) {
+        Tree tree = ((CFG.Block) pp.block).orderedElements().get(pp.i);
         return tree.is(Tree.Kind.METHOD_INVOCATION);
       }
       return false;
@@ -30,6 +30,7 @@ public class ProgramPoint {
   private final int hashcode;
   public final CFG.IBlock<?> block;
   public final int i;
+  private ProgramPoint next;
 
   public ProgramPoint(CFG.IBlock<?> block) {
     this(block, 0);
@@ -40,7 +41,7 @@ public class ProgramPoint {
    * @see ExplodedGraphWalker#execute
    */
   private ProgramPoint(CFG.IBlock<?> block, int i) {
-    int blockSize = block.elements().size();
+    int blockSize = block instanceof CFG.Block ? ((CFG.Block) block).orderedElements().size() : block.elements().size();
     Preconditions.checkState(i < blockSize + 2, "CFG Block has %s elements but PP at %s was requested", blockSize, i);
     this.block = block;
     this.i = i;
@@ -48,8 +49,11 @@ public class ProgramPoint {
   }
 
   public ProgramPoint next() {
-    int nextPP = this.i + 1;
-    return new ProgramPoint(block, nextPP);
+    // the walker steps through every element of a block many times: program points of a block are only created once
+    if (next == null) {
+      next = new ProgramPoint(block, i + 1);
+    }
+    return next;
   }
 
   @Override
@@ -59,6 +63,9 @@ public class ProgramPoint {
 
   @Override
   public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
     if (obj instanceof ProgramPoint) {
       ProgramPoint other = (ProgramPoint) obj;
       return this.block.id() == other.block.id()
@@ -71,7 +78,7 @@ public class ProgramPoint {
   public String toString() {
     String tree = "";
     if (block instanceof CFG.Block) {
-      List<Tree> elements = ((CFG.Block) block).elements();
+      List<Tree> elements = ((CFG.Block) block).orderedElements();
       if (i < elements.size()) {
         tree = "" + elements.get(i).kind() + LineUtils.startLine(elements.get(i));
       }
@@ -82,10 +89,11 @@ public class ProgramPoint {
   public Tree syntaxTree() {
     if (block instanceof CFG.Block) {
       CFG.Block syntaxCFGblock = (CFG.Block) this.block;
-      if (block.elements().isEmpty()) {
+      List<Tree> elements = syntaxCFGblock.orderedElements();
+      if (elements.isEmpty()) {
         return syntaxCFGblock.terminator();
       }
-      return syntaxCFGblock.elements().get(Math.min(i, syntaxCFGblock.elements().size() - 1));
+      return elements.get(Math.min(i, elements.size() - 1));
     }
     return null;
   }
@@ -421,21 +421,30 @@ public class ProgramState {
 
       @Override
       public void accept(SymbolicValue symbolicValue, ConstraintsByDomain constraintPMap) {
+        // reachability, protection and stack membership only depend on the symbolic value: check them once for all its domains
+        if (protectedSymbolicValues.contains(symbolicValue) || isReachable(symbolicValue, newReferences) || !SymbolicValue.isDisposable(symbolicValue)) {
+          return;
+        }
+        List<Class<? extends Constraint>> disposableDomains = new ArrayList<>();
         constraintPMap.forEach((domain, constraint) -> {
-          if (!protectedSymbolicValues.contains(symbolicValue)
-            && !isReachable(symbolicValue, newReferences)
-            && isDisposable(symbolicValue, constraint)
-            && !inStack(stack, symbolicValue)) {
-            newProgramState = true;
-            ConstraintsByDomain removed = newConstraints.get(symbolicValue).remove(domain);
-            if (removed.isEmpty()) {
-              newConstraints = newConstraints.remove(symbolicValue);
-            } else {
-              newConstraints = newConstraints.put(symbolicValue, removed);
-            }
-            newReferences = newReferences.remove(symbolicValue);
+          if (isDisposable(symbolicValue, constraint)) {
+            disposableDomains.add(domain);
           }
         });
+        if (disposableDomains.isEmpty() || inStack(stack, symbolicValue)) {
+          return;
+        }
+        newProgramState = true;
+        ConstraintsByDomain remaining = constraintPMap;
+        for (Class<? extends Constraint> domain : disposableDomains) {
+          remaining = remaining.remove(domain);
+        }
+        if (remaining.isEmpty()) {
+          newConstraints = newConstraints.remove(symbolicValue);
+        } else {
+          newConstraints = newConstraints.put(symbolicValue, remaining);
+        }
+        newReferences = newReferences.remove(symbolicValue);
       }
     }
     CleanAction cleanAction = new CleanAction();
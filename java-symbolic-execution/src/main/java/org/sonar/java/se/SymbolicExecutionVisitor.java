@@ -29,8 +29,10 @@ import org.sonar.java.annotations.VisibleForTesting;
 import org.sonar.java.ast.visitors.SubscriptionVisitor;
 import org.sonar.java.model.JUtils;
 import org.sonar.java.se.checks.SECheck;
+import org.sonar.java.se.constraint.ConstraintsByDomain;
 import org.sonar.java.se.xproc.BehaviorCache;
 import org.sonar.java.se.xproc.MethodBehavior;
+import org.sonar.plugins.java.api.InputFileScannerContext;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.MethodTree;
@@ -51,8 +53,19 @@ public class SymbolicExecutionVisitor extends SubscriptionVisitor {
   @Override
   public void scanFile(JavaFileScannerContext context) {
     behaviorCache.cleanup();
-    behaviorCache.setFileContext(this);
-    super.scanFile(context);
+    behaviorCache.setFileContext(this, context);
+    try {
+      super.scanFile(context);
+      behaviorCache.persistFileBehaviors();
+    } finally {
+      // not cleared after each method: methods invoked by the explored one are explored in the middle of its exploration
+      ConstraintsByDomain.clearInternedInstances();
+    }
+  }
+
+  @Override
+  public boolean scanWithoutParsing(InputFileScannerContext inputFileScannerContext) {
+    return behaviorCache.persistUnchangedFileBehaviors(inputFileScannerContext);
   }
 
   @Override
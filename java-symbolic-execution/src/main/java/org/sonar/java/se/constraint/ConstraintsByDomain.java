@@ -19,6 +19,8 @@
  */
 package org.sonar.java.se.constraint;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -28,14 +30,58 @@ import org.sonarsource.analyzer.commons.collections.PMap;
 
 public class ConstraintsByDomain {
 
+  /**
+   * Maximum number of domains of an interned instance, so that the number of interned instances stays small.
+   */
+  private static final int MAX_INTERNED_DOMAINS = 3;
+
+  /**
+   * Canonical instances of the small sets of enum constraints, which are the vast majority of the constraints attached
+   * to symbolic values. Sharing them saves memory and makes most equality checks between program states reference
+   * comparisons. The table is cleared once the symbolic execution of a file is done, see {@link #clearInternedInstances()}.
+   */
+  private static final Map<ConstraintsByDomain, ConstraintsByDomain> INTERNED = new ConcurrentHashMap<>();
+
   private final PMap<Class<? extends Constraint>, Constraint> constraintPMap;
 
+  private int hashCode;
+
   private static final ConstraintsByDomain EMPTY = new ConstraintsByDomain(PCollections.emptyMap());
 
   private ConstraintsByDomain(PMap<Class<? extends Constraint>, Constraint> constraintPMap) {
     this.constraintPMap = constraintPMap;
   }
 
+  private static ConstraintsByDomain of(PMap<Class<? extends Constraint>, Constraint> constraintPMap) {
+    if (constraintPMap.isEmpty()) {
+      return EMPTY;
+    }
+    ConstraintsByDomain constraints = new ConstraintsByDomain(constraintPMap);
+    if (!constraints.canBeInterned()) {
+      return constraints;
+    }
+    ConstraintsByDomain interned = INTERNED.putIfAbsent(constraints, constraints);
+    return interned != null ? interned : constraints;
+  }
+
+  private boolean canBeInterned() {
+    int[] domains = {0};
+    boolean[] onlyEnums = {true};
+    constraintPMap.forEach((domain, constraint) -> {
+      domains[0]++;
+      onlyEnums[0] &= constraint instanceof Enum;
+    });
+    return onlyEnums[0] && domains[0] <= MAX_INTERNED_DOMAINS;
+  }
+
+  /**
+   * Forgets the canonical instances, so that they do not outlive the exploration which created them. Instances already
+   * referenced by program states or method yields stay valid: they are only compared by value with later instances.
+   */
+  public static void clearInternedInstances() {
+    INTERNED.clear();
+  }
+
   public static ConstraintsByDomain empty() {
     return EMPTY;
   }
@@ -45,7 +91,7 @@ public class ConstraintsByDomain {
     if (remove == constraintPMap) {
       return this;
     }
-    return remove.isEmpty() ? EMPTY : new ConstraintsByDomain(remove);
+    return of(remove);
   }
 
   @Nullable
@@ -67,7 +113,7 @@ public class ConstraintsByDomain {
 
   public ConstraintsByDomain put(Constraint constraint) {
     PMap<Class<? extends Constraint>, Constraint> newConstraints = constraintPMap.put(constraint.getClass(), constraint);
-    return newConstraints == constraintPMap ? this : new ConstraintsByDomain(newConstraints);
+    return newConstraints == constraintPMap ? this : of(newConstraints);
   }
 
   public Stream<Constraint> stream() {
@@ -101,6 +147,9 @@ public class ConstraintsByDomain {
 
   @Override
   public int hashCode() {
-    return constraintPMap.hashCode();
+    if (hashCode == 0) {
+      hashCode = constraintPMap.hashCode();
+    }
+    return hashCode;
   }
 }
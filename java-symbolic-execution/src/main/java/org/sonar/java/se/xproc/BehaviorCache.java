@@ -40,6 +40,8 @@ import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
 import org.sonar.java.model.JUtils;
 import org.sonar.java.se.SymbolicExecutionVisitor;
+import org.sonar.plugins.java.api.InputFileScannerContext;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.MethodTree;
 
@@ -52,11 +54,33 @@ public class BehaviorCache {
   @VisibleForTesting
   public final Map<String, MethodBehavior> behaviors = new LinkedHashMap<>();
   private Map<String, MethodBehavior> hardcodedBehaviors = null;
+  private final PersistedMethodBehaviors persistedBehaviors = new PersistedMethodBehaviors();
 
   public void setFileContext(@Nullable SymbolicExecutionVisitor sev) {
     this.sev = sev;
   }
 
+  public void setFileContext(@Nullable SymbolicExecutionVisitor sev, @Nullable JavaFileScannerContext context) {
+    setFileContext(sev);
+    persistedBehaviors.setFileContext(context);
+  }
+
+  /**
+   * Store the complete behaviors of the methods of the current file in the analysis cache, when enabled, to replay them
+   * in the next analysis for calls coming from other files.
+   */
+  public void persistFileBehaviors() {
+    persistedBehaviors.write(behaviors.values());
+  }
+
+  /**
+   * Carry over the behaviors stored in the analysis cache for an unchanged file which is not parsed, when enabled.
+   * @return false if the file has to be parsed because its stored behaviors are missing or outdated.
+   */
+  public boolean persistUnchangedFileBehaviors(InputFileScannerContext context) {
+    return persistedBehaviors.carryOver(context);
+  }
+
   public void cleanup() {
     behaviors.clear();
   }
@@ -92,12 +116,15 @@ public class BehaviorCache {
     if(mb != null) {
       return mb;
     }
-    if (symbol != null) {
+    if (symbol != null && SymbolicExecutionVisitor.methodCanNotBeOverriden(symbol)) {
       MethodTree declaration = symbol.declaration();
-      if (SymbolicExecutionVisitor.methodCanNotBeOverriden(symbol) && declaration != null) {
+      if (declaration != null) {
         sev.execute(declaration);
         return behaviors.get(signature);
       }
+      mb = hardcodedBehaviors().get(signature);
+      // methods declared in other files of the project are only known from a previous analysis
+      return mb != null ? mb : persistedBehaviors.get(signature);
     }
 
     return hardcodedBehaviors().get(signature);
@@ -107,7 +134,7 @@ public class BehaviorCache {
    * Do not trigger any new computation of method behavior, just check if there is a known method behavior for the symbol.
    *
    * @param signature The targeted method.
-   * @return null for methods having no computed method behavior yet, or its method behavior, based on source or hardcoded set
+   * @return null for methods having no computed method behavior yet, or its method behavior, based on source, hardcoded set or previous analysis
    */
   @CheckForNull
   public MethodBehavior peek(String signature) {
@@ -117,7 +144,8 @@ public class BehaviorCache {
       return mb;
     }
     // check for hardcoded signatures
-    return hardcodedBehaviors().get(signature);
+    mb = hardcodedBehaviors().get(signature);
+    return mb != null ? mb : persistedBehaviors.peek(signature);
   }
 
   static class HardcodedMethodBehaviors {
@@ -88,7 +88,8 @@ public class MethodBehaviorJsonAdapter implements JsonSerializer<MethodBehavior>
     MethodYield result;
     if (methodYield.has(JSON_THROWN_EXCEPTION)) {
       ExceptionalYield exceptionalYield = new ExceptionalYield(behavior);
-      exceptionalYield.setExceptionType(methodYield.get(JSON_THROWN_EXCEPTION).getAsString());
+      JsonElement exceptionType = methodYield.get(JSON_THROWN_EXCEPTION);
+      exceptionalYield.setExceptionType(exceptionType.isJsonNull() ? null : exceptionType.getAsString());
       result = exceptionalYield;
     } else {
       HappyPathYield happyPathYield = new HappyPathYield(behavior);
@@ -133,6 +134,30 @@ public class MethodBehaviorJsonAdapter implements JsonSerializer<MethodBehavior>
     return constraintsByDomain;
   }
 
+  /**
+   * Serialization only keeps happy path and exceptional yields, with nullness and boolean constraints. Behaviors relying
+   * on anything else can not be restored without losing information.
+   */
+  public static boolean isSerializable(MethodBehavior behavior) {
+    return behavior.isComplete() && behavior.yields().stream().allMatch(MethodBehaviorJsonAdapter::isSerializable);
+  }
+
+  private static boolean isSerializable(MethodYield methodYield) {
+    Class<? extends MethodYield> yieldClass = methodYield.getClass();
+    if (yieldClass == HappyPathYield.class) {
+      if (!isSerializable(((HappyPathYield) methodYield).resultConstraint())) {
+        return false;
+      }
+    } else if (yieldClass != ExceptionalYield.class) {
+      return false;
+    }
+    return methodYield.parametersConstraints.stream().allMatch(MethodBehaviorJsonAdapter::isSerializable);
+  }
+
+  private static boolean isSerializable(@Nullable ConstraintsByDomain constraints) {
+    return constraints == null || constraints.stream().allMatch(c -> c instanceof ObjectConstraint || c instanceof BooleanConstraint);
+  }
+
   @Override
   public JsonElement serialize(MethodBehavior src, Type typeOfSrc, JsonSerializationContext context) {
     Preconditions.checkState(src.isComplete());
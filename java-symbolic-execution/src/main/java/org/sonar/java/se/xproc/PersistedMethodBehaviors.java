@@ -0,0 +1,300 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2022 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se.xproc;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+import org.sonar.java.SonarComponents;
+import org.sonar.java.model.DefaultModuleScannerContext;
+import org.sonar.plugins.java.api.InputFileScannerContext;
+import org.sonar.plugins.java.api.caching.CacheContext;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Method behaviors computed during a previous analysis and stored in the analysis cache. Every entry records the content
+ * hash of the files it has been computed from: the file declaring the method, and the files declaring the behaviors
+ * replayed while computing it. An entry is only replayed, or carried over to the next analysis, when none of these files
+ * changed. Behaviors depending on more than {@link #MAX_DEPENDENCIES} files are not stored, so that checking an entry
+ * never requires to hash a large part of the project.
+ */
+class PersistedMethodBehaviors {
+
+  private static final Logger LOG = Loggers.get(PersistedMethodBehaviors.class);
+
+  /**
+   * Part of the cache keys, to be incremented whenever a change of the symbolic execution or of the serialization makes
+   * previously stored behaviors obsolete.
+   */
+  private static final int FORMAT_VERSION = 1;
+  static final String CACHE_KEY_PREFIX = "java:se:behavior:v" + FORMAT_VERSION + ":";
+  static final String FILE_CACHE_KEY_PREFIX = "java:se:behaviors:v" + FORMAT_VERSION + ":";
+  static final int MAX_DEPENDENCIES = 10;
+  private static final String JSON_DEPENDENCIES = "dependencies";
+  private static final String JSON_BEHAVIOR = "behavior";
+  private static final Type DEPENDENCIES_TYPE = new TypeToken<Map<String, String>>() {}.getType();
+  private static final Type SIGNATURES_TYPE = new TypeToken<List<String>>() {}.getType();
+
+  private final Gson gson = MethodBehaviorJsonAdapter.gson();
+  private final Map<String, Entry> loaded = new HashMap<>();
+  private final Set<String> missing = new HashSet<>();
+  private final Map<String, String> contentHashes = new HashMap<>();
+
+  private SonarComponents sonarComponents;
+  private CacheContext cacheContext;
+  private InputFile currentFile;
+  private Map<String, String> currentDependencies = new HashMap<>();
+
+  void setFileContext(@Nullable InputFileScannerContext context) {
+    sonarComponents = null;
+    cacheContext = null;
+    currentFile = null;
+    currentDependencies = new HashMap<>();
+    if (context instanceof DefaultModuleScannerContext) {
+      SonarComponents components = ((DefaultModuleScannerContext) context).getSonarComponents();
+      CacheContext cache = context.getCacheContext();
+      if (cache.isCacheEnabled() && components != null && components.isSymbolicExecutionBehaviorsCacheEnabled()) {
+        sonarComponents = components;
+        InputFile inputFile = context.getInputFile();
+        String contentHash = contentHash(inputFile);
+        if (contentHash != null) {
+          cacheContext = cache;
+          currentFile = inputFile;
+          currentDependencies.put(inputFile.uri().toString(), contentHash);
+        }
+      }
+    }
+  }
+
+  @CheckForNull
+  MethodBehavior get(String signature) {
+    if (cacheContext == null) {
+      return null;
+    }
+    // what can be read depends on the scope of the current file, as test files also read behaviors of main files
+    String key = cacheKey(currentFile.type(), signature);
+    Entry entry = loaded.get(key);
+    if (entry == null && !missing.contains(key)) {
+      entry = read(signature);
+      if (entry == null) {
+        missing.add(key);
+      } else {
+        loaded.put(key, entry);
+      }
+    }
+    if (entry == null) {
+      return null;
+    }
+    // the behaviors of the current file now also depend on the files this behavior has been computed from
+    currentDependencies.putAll(entry.dependencies);
+    return entry.behavior;
+  }
+
+  @CheckForNull
+  MethodBehavior peek(String signature) {
+    if (cacheContext == null) {
+      return null;
+    }
+    Entry entry = loaded.get(cacheKey(currentFile.type(), signature));
+    return entry == null ? null : entry.behavior;
+  }
+
+  @CheckForNull
+  private Entry read(String signature) {
+    List<String> keys = new ArrayList<>();
+    keys.add(cacheKey(currentFile.type(), signature));
+    if (currentFile.type() == InputFile.Type.TEST) {
+      // tests call methods declared in main files
+      keys.add(cacheKey(InputFile.Type.MAIN, signature));
+    }
+    for (String key : keys) {
+      byte[] bytes = cacheContext.getReadCache().readBytes(key);
+      if (bytes != null) {
+        return parse(signature, bytes);
+      }
+    }
+    return null;
+  }
+
+  @CheckForNull
+  private Entry parse(String signature, byte[] bytes) {
+    try {
+      JsonObject entry = gson.fromJson(new String(bytes, UTF_8), JsonObject.class);
+      Map<String, String> dependencies = gson.fromJson(entry.get(JSON_DEPENDENCIES), DEPENDENCIES_TYPE);
+      if (dependencies == null || dependencies.isEmpty() || dependencies.size() > MAX_DEPENDENCIES || !isUpToDate(dependencies)) {
+        return null;
+      }
+      return new Entry(gson.fromJson(entry.get(JSON_BEHAVIOR), MethodBehavior.class), dependencies);
+    } catch (RuntimeException e) {
+      LOG.debug(String.format("[SE] Unable to read cached method behavior of %s: %s", signature, e.getMessage()));
+      return null;
+    }
+  }
+
+  private boolean isUpToDate(Map<String, String> dependencies) {
+    for (Map.Entry<String, String> dependency : dependencies.entrySet()) {
+      InputFile inputFile = sonarComponents.inputFileForUri(dependency.getKey());
+      if (inputFile == null || !dependency.getValue().equals(contentHash(inputFile))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  void write(Collection<MethodBehavior> behaviors) {
+    if (cacheContext == null) {
+      return;
+    }
+    List<String> signatures = new ArrayList<>();
+    if (currentDependencies.size() > MAX_DEPENDENCIES) {
+      LOG.debug(String.format("[SE] Method behaviors of %s depend on too many files to be stored", currentFile));
+    } else {
+      for (MethodBehavior behavior : behaviors) {
+        if (MethodBehaviorJsonAdapter.isSerializable(behavior)) {
+          JsonObject entry = new JsonObject();
+          entry.add(JSON_DEPENDENCIES, gson.toJsonTree(currentDependencies, DEPENDENCIES_TYPE));
+          entry.add(JSON_BEHAVIOR, gson.toJsonTree(behavior));
+          if (write(cacheKey(currentFile.type(), behavior.signature()), gson.toJson(entry).getBytes(UTF_8))) {
+            signatures.add(behavior.signature());
+          }
+        }
+      }
+    }
+    // the list of stored signatures is what allows to carry them over when the file is not parsed in the next analysis
+    write(fileCacheKey(currentFile), gson.toJson(signatures, SIGNATURES_TYPE).getBytes(UTF_8));
+  }
+
+  /**
+   * Carries over the behaviors stored for an unchanged file, which is not going to be parsed.
+   *
+   * @return false when the file has to be parsed to compute its behaviors again, because some are missing or outdated.
+   */
+  boolean carryOver(InputFileScannerContext context) {
+    setFileContext(context);
+    if (cacheContext == null) {
+      return true;
+    }
+    String fileKey = fileCacheKey(currentFile);
+    byte[] bytes = cacheContext.getReadCache().readBytes(fileKey);
+    if (bytes == null) {
+      return false;
+    }
+    List<String> keys = new ArrayList<>();
+    try {
+      List<String> signatures = gson.fromJson(new String(bytes, UTF_8), SIGNATURES_TYPE);
+      for (String signature : signatures) {
+        String key = cacheKey(currentFile.type(), signature);
+        byte[] entry = cacheContext.getReadCache().readBytes(key);
+        if (entry == null || parse(signature, entry) == null) {
+          return false;
+        }
+        keys.add(key);
+      }
+    } catch (RuntimeException e) {
+      LOG.debug(String.format("[SE] Unable to read cached method behaviors of %s: %s", currentFile, e.getMessage()));
+      return false;
+    }
+    keys.forEach(this::copyFromPrevious);
+    copyFromPrevious(fileKey);
+    return true;
+  }
+
+  private boolean write(String key, byte[] data) {
+    try {
+      cacheContext.getWriteCache().write(key, data);
+      return true;
+    } catch (IllegalArgumentException e) {
+      // the same method can be declared by several files, only the first one is kept
+      LOG.trace(() -> String.format("Could not store data to cache key '%s': %s", key, e.getMessage()));
+      return false;
+    }
+  }
+
+  private void copyFromPrevious(String key) {
+    try {
+      cacheContext.getWriteCache().copyFromPrevious(key);
+    } catch (IllegalArgumentException e) {
+      LOG.trace(() -> String.format("Could not copy data to cache key '%s': %s", key, e.getMessage()));
+    }
+  }
+
+  static String cacheKey(InputFile.Type scope, String signature) {
+    return CACHE_KEY_PREFIX + scope.name().toLowerCase(Locale.ROOT) + ":" + signature;
+  }
+
+  static String fileCacheKey(InputFile inputFile) {
+    return FILE_CACHE_KEY_PREFIX + inputFile.key();
+  }
+
+  @CheckForNull
+  private String contentHash(InputFile inputFile) {
+    String uri = inputFile.uri().toString();
+    if (!contentHashes.containsKey(uri)) {
+      contentHashes.put(uri, computeContentHash(inputFile));
+    }
+    return contentHashes.get(uri);
+  }
+
+  @CheckForNull
+  private static String computeContentHash(InputFile inputFile) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(inputFile.contents().getBytes(UTF_8));
+      StringBuilder hash = new StringBuilder();
+      for (byte b : digest) {
+        hash.append(String.format("%02x", b));
+      }
+      return hash.toString();
+    } catch (IOException e) {
+      LOG.debug(String.format("[SE] Unable to read %s: %s", inputFile, e.getMessage()));
+      return null;
+    } catch (NoSuchAlgorithmException e) {
+      // SHA-256 is available on every Java platform
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static class Entry {
+    private final MethodBehavior behavior;
+    private final Map<String, String> dependencies;
+
+    private Entry(MethodBehavior behavior, Map<String, String> dependencies) {
+      this.behavior = behavior;
+      this.dependencies = dependencies;
+    }
+  }
+}
@@ -0,0 +1,38 @@
+abstract class A {
+
+  abstract void log(String message);
+
+  void learned_constraints(boolean b) {
+    Object a = null; // flow@lc {{Implies 'a' is null.}}
+    // both branches lead back to the edge of the assignment: its learned constraints give the same flow on both paths
+    if (b) {
+      log("b");
+    } else {
+      log("not b");
+    }
+    a.toString(); // Noncompliant [[flows=lc]] flow@lc {{'a' is dereferenced.}}
+  }
+
+  private void one_yield_two_flows(boolean arg) {  // flow@xproc1 [[order=2]] {{Implies 'arg' has the same value as 'a'.}} flow@xproc2 [[order=2]] {{Implies 'arg' has the same value as 'a'.}}
+    if (cond) {
+      if (arg) return;  // flow@xproc1 [[order=3]] {{Implies 'arg' is true.}}
+    } else {
+      if (arg) return;  // flow@xproc2 [[order=3]] {{Implies 'arg' is true.}}
+    }
+    throw new RuntimeException();
+  }
+
+  void yields(boolean a, boolean b) {
+    one_yield_two_flows(a); // flow@xproc1 [[order=1]] {{'a' is passed to 'one_yield_two_flows()'.}} flow@xproc1 [[order=4]] {{Implies 'a' is true.}} flow@xproc2 [[order=1]] {{'a' is passed to 'one_yield_two_flows()'.}} flow@xproc2 [[order=4]] {{Implies 'a' is true.}}
+    // both branches lead back to the edge of the invocation: its yields give the same flows on both paths
+    if (b) {
+      log("b");
+    } else {
+      log("not b");
+    }
+    // Noncompliant@+1 [[flows=xproc1,xproc2]]
+    if (a) { // flow@xproc1 [[order=5]] {{Expression is always true.}} flow@xproc2 [[order=5]] {{Expression is always true.}}
+    }
+  }
+
+}
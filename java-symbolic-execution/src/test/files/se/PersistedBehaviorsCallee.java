@@ -0,0 +1,10 @@
+package org.foo;
+
+final class PersistedBehaviorsCallee {
+  static Object nullable(boolean returnNull) {
+    if (returnNull) {
+      return null;
+    }
+    return new Object();
+  }
+}
@@ -0,0 +1,11 @@
+package org.foo;
+
+class PersistedBehaviorsCaller {
+  void foo() {
+    PersistedBehaviorsCallee.nullable(true).toString();
+  }
+
+  private static Object bar() {
+    return PersistedBehaviorsCallee.nullable(false);
+  }
+}
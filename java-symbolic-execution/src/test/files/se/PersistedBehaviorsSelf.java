@@ -0,0 +1,11 @@
+package org.foo;
+
+class PersistedBehaviorsSelf {
+  void foo() {
+    nullable(true).toString();
+  }
+
+  private static Object nullable(boolean returnNull) {
+    return returnNull ? null : new Object();
+  }
+}
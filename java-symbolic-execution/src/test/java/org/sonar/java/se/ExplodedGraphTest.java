@@ -19,6 +19,10 @@
  */
 package org.sonar.java.se;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -54,6 +58,59 @@ class ExplodedGraphTest {
     assertThat(child.parents()).hasSize(2);
   }
 
+  @Test
+  void test_node_with_many_parents() {
+    ExplodedGraph eg = new ExplodedGraph();
+    ExplodedGraph.Node child = eg.node(mockProgramPoint("child"), null);
+    assertThat(child.parent()).isNull();
+    assertThat(child.parents()).isEmpty();
+
+    List<ExplodedGraph.Node> parents = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      ExplodedGraph.Node parent = eg.node(mockProgramPoint("parent" + i), null);
+      parents.add(parent);
+      child.addParent(parent, null);
+      // adding same parent twice
+      child.addParent(parents.get(0), null);
+      child.addParent(parent, null);
+      if (i == 0) {
+        assertThat(child.parent()).isSameAs(parent);
+      }
+    }
+    assertThat(child.edges()).hasSize(20);
+    assertThat(child.edges()).extracting(ExplodedGraph.Edge::parent).containsExactlyInAnyOrderElementsOf(parents);
+    assertThat(child.parents()).containsExactlyInAnyOrderElementsOf(parents);
+    // parents are a view on the edges, not copied on each call
+    assertThat(child.parents()).isSameAs(child.parents());
+    assertThat(child.parent()).isSameAs(child.parents().iterator().next());
+  }
+
+  @Test
+  void parents_are_iterated_in_the_order_of_a_hash_map() {
+    ExplodedGraph eg = new ExplodedGraph();
+    ExplodedGraph.Node child = eg.node(mockProgramPoint("child"), null);
+    Map<ExplodedGraph.Node, Boolean> expected = new HashMap<>();
+    for (int i = 0; i < 40; i++) {
+      ExplodedGraph.Node parent = eg.node(mockProgramPoint("parent" + i), null);
+      child.addParent(parent, null);
+      expected.put(parent, true);
+      assertThat(child.parents()).containsExactlyElementsOf(expected.keySet());
+      assertThat(child.parent()).isSameAs(expected.keySet().iterator().next());
+    }
+  }
+
+  @Test
+  void test_node_equality() {
+    ExplodedGraph eg = new ExplodedGraph();
+    ProgramPoint programPoint = mockProgramPoint("pp");
+    ExplodedGraph.Node node = eg.node(programPoint, null);
+    assertThat(node)
+      .isEqualTo(node)
+      .isSameAs(eg.node(programPoint, null))
+      .isNotEqualTo(eg.node(mockProgramPoint("other"), null))
+      .isNotEqualTo(programPoint);
+  }
+
   private ProgramPoint mockProgramPoint(String toString) {
     ProgramPoint mock = mock(ProgramPoint.class);
     when(mock.toString()).thenReturn(toString);
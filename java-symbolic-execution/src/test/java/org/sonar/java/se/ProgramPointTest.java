@@ -24,6 +24,7 @@ import org.sonar.java.cfg.CFG;
 import org.sonar.java.se.utils.CFGTestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class ProgramPointTest {
   @Test
@@ -36,4 +37,39 @@ class ProgramPointTest {
     assertThat(pp).hasToString("B1.2  ");
   }
 
+  @Test
+  void next_program_point_is_created_once() {
+    CFG cfg = CFGTestUtils.buildCFG("void foo() {foo();}");
+    ProgramPoint pp = new ProgramPoint(cfg.blocks().get(0));
+    assertThat(pp.next()).isSameAs(pp.next()).isEqualTo(new ProgramPoint(cfg.blocks().get(0)).next());
+  }
+
+  @Test
+  void test_program_point_equality() {
+    CFG cfg = CFGTestUtils.buildCFG("void foo() {foo(); if (true) {bar();}}");
+    ProgramPoint pp = new ProgramPoint(cfg.blocks().get(0));
+    ProgramPoint other = new ProgramPoint(cfg.blocks().get(0));
+    assertThat(pp)
+      .isEqualTo(pp)
+      .isEqualTo(other)
+      .hasSameHashCodeAs(other)
+      .isNotEqualTo(pp.next())
+      .isNotEqualTo(new ProgramPoint(cfg.blocks().get(1)))
+      .isNotEqualTo(cfg.blocks().get(0));
+    assertThat(pp.next().next()).isEqualTo(other.next().next()).isNotSameAs(other.next().next());
+  }
+
+  @Test
+  void next_program_point_is_still_checked_against_block_size() {
+    CFG cfg = CFGTestUtils.buildCFG("void foo() {foo();}");
+    ProgramPoint last = new ProgramPoint(cfg.blocks().get(0));
+    for (int i = 0; i <= cfg.blocks().get(0).elements().size(); i++) {
+      last = last.next();
+    }
+    ProgramPoint pp = last;
+    assertThatThrownBy(pp::next).isInstanceOf(IllegalStateException.class);
+    // a failed creation is not cached
+    assertThatThrownBy(pp::next).isInstanceOf(IllegalStateException.class);
+  }
+
 }
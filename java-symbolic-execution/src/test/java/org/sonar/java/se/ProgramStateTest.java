@@ -19,6 +19,7 @@
  */
 package org.sonar.java.se;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import org.assertj.core.api.Assertions;
@@ -53,6 +54,26 @@ class ProgramStateTest {
       .isEqualTo(state2);
   }
 
+  @Test
+  void equal_states_share_their_constraints() {
+    SymbolicValue sv1 = new SymbolicValue();
+    SymbolicValue sv2 = new SymbolicValue();
+    ProgramState state = ProgramState.EMPTY_STATE
+      .addConstraint(sv1, ObjectConstraint.NOT_NULL)
+      .addConstraint(sv2, BooleanConstraint.TRUE)
+      .addConstraint(sv2, ObjectConstraint.NOT_NULL);
+    ProgramState state2 = ProgramState.EMPTY_STATE
+      .addConstraint(sv2, ObjectConstraint.NOT_NULL)
+      .addConstraint(sv2, BooleanConstraint.TRUE)
+      .addConstraint(sv1, ObjectConstraint.NOT_NULL);
+    // states built independently compare their constraints by reference
+    assertThat(state2.getConstraints(sv1)).isSameAs(state.getConstraints(sv1));
+    assertThat(state2.getConstraints(sv2)).isSameAs(state.getConstraints(sv2));
+    assertThat(state2)
+      .isEqualTo(state)
+      .hasSameHashCodeAs(state);
+  }
+
   @Test
   void testStackUnstack() {
     SymbolicValue sv1 = new SymbolicValue();
@@ -241,4 +262,42 @@ class ProgramStateTest {
     assertThat(ps.getConstraint(sv2, constraint.getClass())).isEqualTo(constraint);
   }
 
+  @Test
+  void cleanup_constraints_keeps_non_disposable_domains() {
+    SymbolicValue sv = new SymbolicValue();
+    ProgramState ps = ProgramState.EMPTY_STATE
+      .addConstraint(sv, ObjectConstraint.NOT_NULL)
+      .addConstraint(sv, UnclosedResourcesCheck.ResourceConstraint.OPEN);
+
+    ProgramState cleaned = ps.cleanupConstraints(Collections.emptyList());
+    assertThat(cleaned).isNotSameAs(ps);
+    assertThat(cleaned.getConstraint(sv, ObjectConstraint.class)).isNull();
+    assertThat(cleaned.getConstraint(sv, UnclosedResourcesCheck.ResourceConstraint.class)).isEqualTo(UnclosedResourcesCheck.ResourceConstraint.OPEN);
+    // nothing left to dispose
+    assertThat(cleaned.cleanupConstraints(Collections.emptyList())).isSameAs(cleaned);
+
+    // protected symbolic values keep all their constraints
+    assertThat(ps.cleanupConstraints(Collections.singletonList(sv))).isSameAs(ps);
+  }
+
+  @Test
+  void cleanup_constraints_keeps_constraints_of_values_in_stack() {
+    SymbolicValue sv = new SymbolicValue();
+    SymbolicValue unstacked = new SymbolicValue();
+    ProgramState ps = ProgramState.EMPTY_STATE
+      .stackValue(sv)
+      .addConstraint(sv, ObjectConstraint.NOT_NULL)
+      .addConstraint(sv, BooleanConstraint.TRUE)
+      .addConstraint(unstacked, ObjectConstraint.NULL);
+
+    ProgramState cleaned = ps.cleanupConstraints(Collections.emptyList());
+    assertThat(cleaned.getConstraints(sv)).isSameAs(ps.getConstraints(sv));
+    assertThat(cleaned.getConstraints(unstacked)).isNull();
+
+    ProgramState stackedOnly = ProgramState.EMPTY_STATE
+      .stackValue(sv)
+      .addConstraint(sv, ObjectConstraint.NOT_NULL);
+    assertThat(stackedOnly.cleanupConstraints(Collections.emptyList())).isSameAs(stackedOnly);
+  }
+
 }
@@ -137,6 +137,16 @@ class FlowComputationTest {
       .verifyIssues();
   }
 
+  @Test
+  void test_same_edge_reached_by_multiple_paths() {
+    // flows computed for an edge are reused by the other paths reaching it, and must be the ones of a single path
+    SECheckVerifier.newVerifier()
+      .onFile("src/test/files/se/FlowComputationSameEdgeMultiplePaths.java")
+      .withChecks(new NullDereferenceCheck(), new ConditionalUnreachableCodeCheck(), new BooleanGratuitousExpressionsCheck())
+      .withClassPath(SETestUtils.CLASS_PATH)
+      .verifyIssues();
+  }
+
   @Test
   void test_trigger_yield_flow_computation_only_on_relevant_yields() throws Exception {
     SECheckVerifier.newVerifier()
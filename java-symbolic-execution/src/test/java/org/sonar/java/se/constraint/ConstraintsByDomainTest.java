@@ -70,6 +70,33 @@ class ConstraintsByDomainTest {
     assertThat(c1).isSameAs(c2);
   }
 
+  @Test
+  void test_interning() {
+    ConstraintsByDomain c1 = ConstraintsByDomain.empty().put(ObjectConstraint.NOT_NULL).put(BooleanConstraint.TRUE);
+    ConstraintsByDomain c2 = ConstraintsByDomain.empty().put(BooleanConstraint.TRUE).put(ObjectConstraint.NOT_NULL);
+    assertThat(c1).isSameAs(c2);
+    assertThat(c1.remove(BooleanConstraint.class)).isSameAs(ConstraintsByDomain.empty().put(ObjectConstraint.NOT_NULL));
+
+    // constraints which are not enums are not interned
+    TypedConstraint typedConstraint = new TypedConstraint("java.lang.String");
+    ConstraintsByDomain c3 = ConstraintsByDomain.empty().put(typedConstraint);
+    ConstraintsByDomain c4 = ConstraintsByDomain.empty().put(typedConstraint);
+    assertThat(c3)
+      .isNotSameAs(c4)
+      .isEqualTo(c4);
+  }
+
+  @Test
+  void interned_instances_are_forgotten_once_cleared() {
+    ConstraintsByDomain c1 = ConstraintsByDomain.empty().put(ObjectConstraint.NOT_NULL);
+    ConstraintsByDomain.clearInternedInstances();
+    ConstraintsByDomain c2 = ConstraintsByDomain.empty().put(ObjectConstraint.NOT_NULL);
+    assertThat(c2)
+      .isNotSameAs(c1)
+      .isEqualTo(c1)
+      .isSameAs(ConstraintsByDomain.empty().put(ObjectConstraint.NOT_NULL));
+  }
+
   @Test
   void test_forEach() {
     ConstraintsByDomain constraints = ConstraintsByDomain.empty();
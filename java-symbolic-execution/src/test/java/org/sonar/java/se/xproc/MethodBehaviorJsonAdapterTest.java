@@ -149,6 +149,54 @@ class MethodBehaviorJsonAdapterTest {
       .contains("\"parametersConstraints\": []");
   }
 
+  @Test
+  void unknown_exception_type_should_survive_serialization() {
+    MethodBehavior mb = newMethodBehavior("org.bar.A#foo()Z");
+    ExceptionalYield ey = new ExceptionalYield(mb);
+    mb.addYield(ey);
+    mb.completed();
+
+    MethodBehavior deserialized = gson.fromJson(gson.toJson(mb), MethodBehavior.class);
+    assertThat(deserialized).isEqualTo(mb);
+    assertThat(deserialized.exceptionalPathYields()).extracting(ExceptionalYield::getExceptionType).containsExactly((String) null);
+  }
+
+  @Test
+  void only_lossless_behaviors_are_serializable() {
+    MethodBehavior incomplete = newMethodBehavior("org.bar.A#foo(Ljava/lang/Object;)Z");
+    assertThat(MethodBehaviorJsonAdapter.isSerializable(incomplete)).isFalse();
+
+    MethodBehavior supported = newMethodBehavior("org.bar.A#foo(Ljava/lang/Object;)Z");
+    HappyPathYield hpy = new HappyPathYield(supported);
+    hpy.setResult(-1, ConstraintsByDomain.empty().put(BooleanConstraint.TRUE));
+    hpy.parametersConstraints.add(ConstraintsByDomain.empty().put(ObjectConstraint.NOT_NULL));
+    supported.addYield(hpy);
+    ExceptionalYield ey = new ExceptionalYield(supported);
+    ey.parametersConstraints.add(null);
+    supported.addYield(ey);
+    supported.completed();
+    assertThat(MethodBehaviorJsonAdapter.isSerializable(supported)).isTrue();
+
+    MethodBehavior unsupportedResult = newMethodBehavior("org.bar.A#foo()Z");
+    HappyPathYield unsupportedHpy = new HappyPathYield(unsupportedResult);
+    unsupportedHpy.setResult(-1, ConstraintsByDomain.empty().put(CustomConstraint.SQUARE));
+    unsupportedResult.addYield(unsupportedHpy);
+    unsupportedResult.completed();
+    assertThat(MethodBehaviorJsonAdapter.isSerializable(unsupportedResult)).isFalse();
+
+    MethodBehavior unsupportedParameter = newMethodBehavior("org.bar.A#foo(Ljava/lang/Object;)Z");
+    ExceptionalYield unsupportedEy = new ExceptionalYield(unsupportedParameter);
+    unsupportedEy.parametersConstraints.add(ConstraintsByDomain.empty().put(CustomConstraint.SQUARE));
+    unsupportedParameter.addYield(unsupportedEy);
+    unsupportedParameter.completed();
+    assertThat(MethodBehaviorJsonAdapter.isSerializable(unsupportedParameter)).isFalse();
+
+    MethodBehavior unsupportedYield = newMethodBehavior("org.bar.A#foo()Z");
+    unsupportedYield.addYield(new CustomMethodYield(unsupportedYield));
+    unsupportedYield.completed();
+    assertThat(MethodBehaviorJsonAdapter.isSerializable(unsupportedYield)).isFalse();
+  }
+
   @Test
   void deserialization_serialization() {
     MethodBehavior customBehavior = newMethodBehavior("org.bar.A#foo(Ljava/lang/Object;)Z");
@@ -0,0 +1,286 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2022 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se.xproc;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
+import org.sonar.java.AnalysisProgress;
+import org.sonar.java.SonarComponents;
+import org.sonar.java.caching.JavaReadCacheImpl;
+import org.sonar.java.caching.JavaWriteCacheImpl;
+import org.sonar.java.checks.verifier.internal.InternalCacheContext;
+import org.sonar.java.checks.verifier.internal.InternalReadCache;
+import org.sonar.java.checks.verifier.internal.InternalWriteCache;
+import org.sonar.java.model.DefaultJavaFileScannerContext;
+import org.sonar.java.model.JParserConfig;
+import org.sonar.java.model.JavaTree.CompilationUnitTreeImpl;
+import org.sonar.java.model.JavaVersionImpl;
+import org.sonar.java.se.SymbolicExecutionVisitor;
+import org.sonar.java.se.checks.NullDereferenceCheck;
+import org.sonar.java.se.utils.SETestUtils;
+import org.sonar.java.reporting.AnalyzerMessage;
+import org.sonar.plugins.java.api.caching.CacheContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PersistedMethodBehaviorsTest {
+
+  private static final String CALLEE = "src/test/files/se/PersistedBehaviorsCallee.java";
+  private static final String CALLER = "src/test/files/se/PersistedBehaviorsCaller.java";
+  private static final String SELF = "src/test/files/se/PersistedBehaviorsSelf.java";
+  private static final String CALLEE_SIGNATURE = "org.foo.PersistedBehaviorsCallee#nullable(Z)Ljava/lang/Object;";
+  private static final String CALLER_SIGNATURE = "org.foo.PersistedBehaviorsCaller#bar()Ljava/lang/Object;";
+  private static final String CALLEE_KEY = PersistedMethodBehaviors.cacheKey(InputFile.Type.MAIN, CALLEE_SIGNATURE);
+  private static final String CALLER_KEY = PersistedMethodBehaviors.cacheKey(InputFile.Type.MAIN, CALLER_SIGNATURE);
+
+  private final Map<String, CompilationUnitTreeImpl> trees = new HashMap<>();
+  private final Map<String, InputFile> inputFiles = new HashMap<>();
+  private final Map<String, InputFile> inputFilesByUri = new HashMap<>();
+  private SonarComponents sonarComponents;
+
+  @BeforeEach
+  void setUp() {
+    List<InputFile> files = Arrays.asList(SETestUtils.inputFile(new File(CALLEE)), SETestUtils.inputFile(new File(CALLER)),
+      SETestUtils.inputFile(new File(SELF)));
+    JParserConfig.Mode.BATCH.create(new JavaVersionImpl(), SETestUtils.CLASS_PATH)
+      .parse(files, () -> false, new AnalysisProgress(files.size()), (inputFile, result) -> {
+        try {
+          trees.put(inputFile.relativePath(), result.get());
+          inputFiles.put(inputFile.relativePath(), inputFile);
+          inputFilesByUri.put(inputFile.uri().toString(), inputFile);
+        } catch (Exception e) {
+          throw new IllegalStateException(e);
+        }
+      });
+    sonarComponents = mock(SonarComponents.class);
+    when(sonarComponents.isSymbolicExecutionBehaviorsCacheEnabled()).thenReturn(true);
+    when(sonarComponents.inputFileForUri(anyString())).thenAnswer(invocation -> inputFilesByUri.get(invocation.<String>getArgument(0)));
+  }
+
+  @Test
+  void behaviors_of_unchanged_files_are_replayed_for_calls_from_other_files() {
+    InternalWriteCache firstAnalysis = new InternalWriteCache();
+    SymbolicExecutionVisitor sev = scan(CALLEE, new InternalReadCache(), firstAnalysis);
+    assertThat(firstAnalysis.getData()).containsOnlyKeys(CALLEE_KEY, PersistedMethodBehaviors.fileCacheKey(inputFiles.get(CALLEE)));
+    assertThat(sev.behaviorCache.behaviors.get(CALLEE_SIGNATURE)).isNotNull();
+
+    InternalWriteCache secondAnalysis = new InternalWriteCache();
+    sev = scan(CALLER, new InternalReadCache().putAll(firstAnalysis), secondAnalysis);
+
+    MethodBehavior replayed = sev.behaviorCache.peek(CALLEE_SIGNATURE);
+    assertThat(replayed).isNotNull();
+    assertThat(replayed.isComplete()).isTrue();
+    assertThat(replayed.happyPathYields()).hasSize(2);
+    // the null dereference is only known thanks to the behavior of the other file
+    verify(sonarComponents).reportIssue(any(AnalyzerMessage.class));
+    // behaviors relying on replayed behaviors are stored along with the files they depend on
+    assertThat(secondAnalysis.getData()).containsOnlyKeys(CALLER_KEY, PersistedMethodBehaviors.fileCacheKey(inputFiles.get(CALLER)));
+    assertThat(new String(secondAnalysis.getData().get(CALLER_KEY), StandardCharsets.UTF_8))
+      .contains(inputFiles.get(CALLER).uri().toString())
+      .contains(inputFiles.get(CALLEE).uri().toString());
+  }
+
+  @Test
+  void behaviors_of_changed_files_are_not_replayed() throws IOException {
+    InternalWriteCache firstAnalysis = new InternalWriteCache();
+    scan(CALLEE, new InternalReadCache(), firstAnalysis);
+
+    changeContent(CALLEE);
+    SymbolicExecutionVisitor sev = scan(CALLER, new InternalReadCache().putAll(firstAnalysis), new InternalWriteCache());
+
+    assertThat(sev.behaviorCache.peek(CALLEE_SIGNATURE)).isNull();
+    verify(sonarComponents, never()).reportIssue(any(AnalyzerMessage.class));
+  }
+
+  @Test
+  void behaviors_of_unchanged_files_are_carried_over_to_the_next_analysis() {
+    InternalWriteCache firstAnalysis = new InternalWriteCache();
+    scan(CALLEE, new InternalReadCache(), firstAnalysis);
+    InternalWriteCache secondAnalysis = new InternalWriteCache();
+    scan(CALLER, new InternalReadCache().putAll(firstAnalysis), secondAnalysis);
+
+    InternalReadCache readCache = new InternalReadCache().putAll(firstAnalysis).putAll(secondAnalysis);
+    InternalWriteCache thirdAnalysis = new InternalWriteCache().bind(readCache);
+    assertThat(scanWithoutParsing(CALLEE, readCache, thirdAnalysis)).isTrue();
+    assertThat(scanWithoutParsing(CALLER, readCache, thirdAnalysis)).isTrue();
+    assertThat(thirdAnalysis.getData()).containsOnlyKeys(
+      CALLEE_KEY, PersistedMethodBehaviors.fileCacheKey(inputFiles.get(CALLEE)),
+      CALLER_KEY, PersistedMethodBehaviors.fileCacheKey(inputFiles.get(CALLER)));
+  }
+
+  @Test
+  void files_with_outdated_behaviors_have_to_be_parsed() throws IOException {
+    InternalWriteCache firstAnalysis = new InternalWriteCache();
+    scan(CALLEE, new InternalReadCache(), firstAnalysis);
+    InternalWriteCache secondAnalysis = new InternalWriteCache();
+    scan(CALLER, new InternalReadCache().putAll(firstAnalysis), secondAnalysis);
+
+    changeContent(CALLEE);
+    InternalReadCache readCache = new InternalReadCache().putAll(firstAnalysis).putAll(secondAnalysis);
+    InternalWriteCache thirdAnalysis = new InternalWriteCache().bind(readCache);
+    // the caller did not change, but its behaviors depend on the callee
+    assertThat(scanWithoutParsing(CALLER, readCache, thirdAnalysis)).isFalse();
+    // never stored
+    assertThat(scanWithoutParsing(CALLER, new InternalReadCache(), thirdAnalysis)).isFalse();
+    assertThat(thirdAnalysis.getData()).isEmpty();
+  }
+
+  @Test
+  void methods_declared_several_times_are_stored_once() {
+    InternalWriteCache writeCache = new InternalWriteCache();
+    scan(CALLEE, new InternalReadCache(), writeCache);
+    // the same method declared again, by another file of the module, does not fail on the already written keys
+    scan(CALLEE, new InternalReadCache(), writeCache);
+    assertThat(writeCache.getData()).containsOnlyKeys(CALLEE_KEY, PersistedMethodBehaviors.fileCacheKey(inputFiles.get(CALLEE)));
+    // main and test files have their own keys
+    assertThat(PersistedMethodBehaviors.cacheKey(InputFile.Type.TEST, CALLEE_SIGNATURE)).isNotEqualTo(CALLEE_KEY);
+  }
+
+  @Test
+  void behaviors_are_looked_up_in_the_scope_of_the_current_file() throws IOException {
+    InternalWriteCache firstAnalysis = new InternalWriteCache();
+    new SymbolicExecutionVisitor(Collections.singletonList(new NullDereferenceCheck()))
+      .scanFile(context(CALLEE, testInputFile(CALLEE), new InternalReadCache(), firstAnalysis));
+    assertThat(firstAnalysis.getData()).containsKey(PersistedMethodBehaviors.cacheKey(InputFile.Type.TEST, CALLEE_SIGNATURE));
+
+    InternalReadCache readCache = new InternalReadCache().putAll(firstAnalysis);
+    SymbolicExecutionVisitor sev = new SymbolicExecutionVisitor(Collections.singletonList(new NullDereferenceCheck()));
+    // main files do not replay behaviors of test files
+    sev.scanFile(context(CALLER, inputFiles.get(CALLER), readCache, new InternalWriteCache()));
+    assertThat(sev.behaviorCache.peek(CALLEE_SIGNATURE)).isNull();
+    // the miss of a main file does not prevent test files to replay behaviors of their own scope
+    sev.scanFile(context(CALLER, testInputFile(CALLER), readCache, new InternalWriteCache()));
+    assertThat(sev.behaviorCache.peek(CALLEE_SIGNATURE)).isNotNull();
+  }
+
+  @Test
+  void cached_analysis_reports_the_same_issues_as_cold_analysis() {
+    InternalWriteCache firstAnalysis = new InternalWriteCache();
+    List<String> coldIssues = issues(SELF, new InternalReadCache(), firstAnalysis);
+    assertThat(coldIssues).hasSize(1);
+
+    List<String> cachedIssues = issues(SELF, new InternalReadCache().putAll(firstAnalysis), new InternalWriteCache());
+    assertThat(cachedIssues).isEqualTo(coldIssues);
+  }
+
+  @Test
+  void cache_keys_are_versioned() {
+    assertThat(CALLEE_KEY).startsWith("java:se:behavior:v1:main:");
+    assertThat(PersistedMethodBehaviors.fileCacheKey(inputFiles.get(CALLEE))).startsWith("java:se:behaviors:v1:");
+  }
+
+  @Test
+  void nothing_is_stored_or_replayed_when_disabled() {
+    when(sonarComponents.isSymbolicExecutionBehaviorsCacheEnabled()).thenReturn(false);
+    InternalWriteCache firstAnalysis = new InternalWriteCache();
+    scan(CALLEE, new InternalReadCache(), firstAnalysis);
+    assertThat(firstAnalysis.getData()).isEmpty();
+
+    InternalReadCache readCache = new InternalReadCache().put(CALLEE_KEY, "{}".getBytes());
+    SymbolicExecutionVisitor sev = scan(CALLER, readCache, new InternalWriteCache());
+    assertThat(sev.behaviorCache.peek(CALLEE_SIGNATURE)).isNull();
+    assertThat(scanWithoutParsing(CALLER, readCache, new InternalWriteCache())).isTrue();
+  }
+
+  @Test
+  void invalid_entries_are_ignored() {
+    InternalReadCache readCache = new InternalReadCache().put(CALLEE_KEY, "{}".getBytes());
+    SymbolicExecutionVisitor sev = scan(CALLER, readCache, new InternalWriteCache());
+    assertThat(sev.behaviorCache.peek(CALLEE_SIGNATURE)).isNull();
+    verify(sonarComponents, never()).reportIssue(any(AnalyzerMessage.class));
+
+    readCache = new InternalReadCache().put(PersistedMethodBehaviors.fileCacheKey(inputFiles.get(CALLER)), "{}".getBytes());
+    assertThat(scanWithoutParsing(CALLER, readCache, new InternalWriteCache().bind(readCache))).isFalse();
+  }
+
+  private void changeContent(String file) throws IOException {
+    InputFile inputFile = inputFiles.get(file);
+    InputFile changed = new TestInputFileBuilder("", inputFile.relativePath())
+      .setContents(inputFile.contents() + "\n// changed\n")
+      .setCharset(StandardCharsets.UTF_8)
+      .setLanguage("java")
+      .build();
+    inputFilesByUri.put(changed.uri().toString(), changed);
+  }
+
+  private InputFile testInputFile(String file) throws IOException {
+    InputFile inputFile = inputFiles.get(file);
+    return new TestInputFileBuilder("", inputFile.relativePath())
+      .setContents(inputFile.contents())
+      .setCharset(StandardCharsets.UTF_8)
+      .setLanguage("java")
+      .setType(InputFile.Type.TEST)
+      .build();
+  }
+
+  private List<String> issues(String file, InternalReadCache readCache, InternalWriteCache writeCache) {
+    clearInvocations(sonarComponents);
+    scan(file, readCache, writeCache);
+    ArgumentCaptor<AnalyzerMessage> messages = ArgumentCaptor.forClass(AnalyzerMessage.class);
+    verify(sonarComponents, atLeast(0)).reportIssue(messages.capture());
+    return messages.getAllValues().stream()
+      .map(message -> message.getLine() + ": " + message.getMessage())
+      .collect(Collectors.toList());
+  }
+
+  private boolean scanWithoutParsing(String file, InternalReadCache readCache, InternalWriteCache writeCache) {
+    SymbolicExecutionVisitor sev = new SymbolicExecutionVisitor(Collections.singletonList(new NullDereferenceCheck()));
+    return sev.scanWithoutParsing(context(file, readCache, writeCache));
+  }
+
+  private SymbolicExecutionVisitor scan(String file, InternalReadCache readCache, InternalWriteCache writeCache) {
+    NullDereferenceCheck check = new NullDereferenceCheck();
+    SymbolicExecutionVisitor sev = new SymbolicExecutionVisitor(Collections.singletonList(check));
+    DefaultJavaFileScannerContext context = context(file, readCache, writeCache);
+    sev.scanFile(context);
+    check.scanFile(context);
+    return sev;
+  }
+
+  private DefaultJavaFileScannerContext context(String file, InternalReadCache readCache, InternalWriteCache writeCache) {
+    return context(file, inputFiles.get(file), readCache, writeCache);
+  }
+
+  private DefaultJavaFileScannerContext context(String file, InputFile inputFile, InternalReadCache readCache, InternalWriteCache writeCache) {
+    CacheContext cacheContext = new InternalCacheContext(true, new JavaReadCacheImpl(readCache), new JavaWriteCacheImpl(writeCache));
+    CompilationUnitTreeImpl cut = trees.get(file);
+    return new DefaultJavaFileScannerContext(cut, inputFile, cut.sema, sonarComponents, new JavaVersionImpl(), true, false, cacheContext);
+  }
+}